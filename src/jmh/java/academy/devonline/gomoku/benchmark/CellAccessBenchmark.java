@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2019. http://devonline.academy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package academy.devonline.gomoku.benchmark;
+
+import academy.devonline.gomoku.model.config.Size;
+import academy.devonline.gomoku.model.game.Cell;
+import academy.devonline.gomoku.model.game.GameTable;
+import academy.devonline.gomoku.model.game.Sign;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares reading the whole game table (as the game window does on each redraw) using {@link Cell} objects
+ * and using cell indexes. Run with {@code -prof gc} to see the allocation rate.
+ *
+ * @author devonline
+ * @link http://devonline.academy/java
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CellAccessBenchmark {
+
+    @Param({"SIZE9", "SIZE15"})
+    private Size size;
+
+    private GameTable gameTable;
+
+    @Setup
+    public void setup() {
+        gameTable = new GameTable(size.intValue());
+        final Random random = new Random(0);
+        final int moveCount = gameTable.getEmptyCellCount() / 2;
+        Sign sign = Sign.X;
+        for (int i = 0; i < moveCount; i++) {
+            gameTable.setSign(gameTable.getEmptyCell(random.nextInt(gameTable.getEmptyCellCount())), sign);
+            sign = sign.oppositeSign();
+        }
+    }
+
+    @Benchmark
+    public void readAllCellsUsingCellObjects(final Blackhole blackhole) {
+        for (int i = 0; i < gameTable.getSize(); i++) {
+            for (int j = 0; j < gameTable.getSize(); j++) {
+                // only the sign is consumed, so the Cell does not escape and both variants are equally optimized
+                blackhole.consume(gameTable.getSign(new Cell(i, j)));
+            }
+        }
+    }
+
+    @Benchmark
+    public void readAllCellsUsingCellIndexes(final Blackhole blackhole) {
+        for (int i = 0; i < gameTable.getSize(); i++) {
+            for (int j = 0; j < gameTable.getSize(); j++) {
+                blackhole.consume(gameTable.getSign(gameTable.getCellIndex(i, j)));
+            }
+        }
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2019. http://devonline.academy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package academy.devonline.gomoku.benchmark;
+
+import academy.devonline.gomoku.component.ComputerMove;
+import academy.devonline.gomoku.model.config.Level;
+import academy.devonline.gomoku.model.config.Size;
+import academy.devonline.gomoku.model.game.GameTable;
+import academy.devonline.gomoku.model.game.Sign;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full computer move: the chain of strategies of the level, as it is invoked by the game.
+ *
+ * @author devonline
+ * @link http://devonline.academy/java
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ComputerMoveBenchmark {
+
+    @Param({"LEVEL1", "LEVEL2"})
+    private Level level;
+
+    @Param({"SIZE9", "SIZE15"})
+    private Size size;
+
+    @Param({"EMPTY", "MID_GAME", "NEAR_FULL"})
+    private FillRatio fillRatio;
+
+    private ComputerMove computerMove;
+
+    private GameTable gameTable;
+
+    private Sign sign;
+
+    private int emptyCellCount;
+
+    @Setup
+    public void setup() {
+        computerMove = new ComputerMove(level.getStrategies(), 0);
+        gameTable = GameTables.create(size.intValue(), fillRatio);
+        sign = GameTables.getSignToMove(gameTable);
+        emptyCellCount = gameTable.getEmptyCellCount();
+    }
+
+    @Benchmark
+    public int make() {
+        computerMove.make(gameTable, sign);
+        final int cell = gameTable.getLastMove();
+        GameTables.undoMove(gameTable, emptyCellCount);
+        return cell;
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2019. http://devonline.academy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package academy.devonline.gomoku.benchmark;
+
+import academy.devonline.gomoku.component.ComputerMoveStrategy;
+import academy.devonline.gomoku.component.strategy.AlphaBetaComputerMoveStrategy;
+import academy.devonline.gomoku.component.strategy.FirstMoveToTheCenterComputerMoveStrategy;
+import academy.devonline.gomoku.component.strategy.MonteCarloTreeSearchComputerMoveStrategy;
+import academy.devonline.gomoku.component.strategy.RandomComputerMoveStrategy;
+import academy.devonline.gomoku.component.strategy.ThreatSpaceSearchComputerMoveStrategy;
+import academy.devonline.gomoku.component.strategy.TryPreventUserWinComputerMoveStrategy;
+import academy.devonline.gomoku.component.strategy.TryWinComputerMoveStrategy;
+import academy.devonline.gomoku.model.config.Size;
+import academy.devonline.gomoku.model.game.GameTable;
+import academy.devonline.gomoku.model.game.Sign;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Single invocation of each computer move strategy. The move made by the strategy is removed after
+ * each invocation, so all invocations start from the same position.
+ *
+ * @author devonline
+ * @link http://devonline.academy/java
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ComputerMoveStrategyBenchmark {
+
+    @Param({
+            "FIRST_MOVE_TO_THE_CENTER",
+            "TRY_WIN_1", "TRY_PREVENT_USER_WIN_1",
+            "TRY_WIN_4", "TRY_PREVENT_USER_WIN_4",
+            "RANDOM",
+            "THREAT_SPACE_SEARCH",
+            "ALPHA_BETA",
+            "MONTE_CARLO_TREE_SEARCH"
+    })
+    private StrategyType strategyType;
+
+    @Param({"SIZE9", "SIZE15"})
+    private Size size;
+
+    @Param({"EMPTY", "MID_GAME", "NEAR_FULL"})
+    private FillRatio fillRatio;
+
+    private ComputerMoveStrategy strategy;
+
+    private GameTable gameTable;
+
+    private Sign sign;
+
+    private int emptyCellCount;
+
+    @Setup
+    public void setup() {
+        strategy = strategyType.create();
+        gameTable = GameTables.create(size.intValue(), fillRatio);
+        sign = GameTables.getSignToMove(gameTable);
+        emptyCellCount = gameTable.getEmptyCellCount();
+    }
+
+    @Benchmark
+    public boolean tryToMakeMove() {
+        final boolean result = strategy.tryToMakeMove(gameTable, sign);
+        GameTables.undoMove(gameTable, emptyCellCount);
+        return result;
+    }
+
+    /**
+     * @author devonline
+     * @link http://devonline.academy/java
+     */
+    public enum StrategyType {
+
+        FIRST_MOVE_TO_THE_CENTER(FirstMoveToTheCenterComputerMoveStrategy::new),
+
+        TRY_WIN_1(() -> new TryWinComputerMoveStrategy(1)),
+
+        TRY_PREVENT_USER_WIN_1(() -> new TryPreventUserWinComputerMoveStrategy(1)),
+
+        TRY_WIN_4(() -> new TryWinComputerMoveStrategy(4)),
+
+        TRY_PREVENT_USER_WIN_4(() -> new TryPreventUserWinComputerMoveStrategy(4)),
+
+        RANDOM(RandomComputerMoveStrategy::new),
+
+        THREAT_SPACE_SEARCH(() -> new ThreatSpaceSearchComputerMoveStrategy(20_000)),
+
+        /**
+         * The transposition table is not cleared between invocations, so it shows the cost of the repeated search
+         */
+        ALPHA_BETA(() -> new AlphaBetaComputerMoveStrategy(2)),
+
+        MONTE_CARLO_TREE_SEARCH(() -> new MonteCarloTreeSearchComputerMoveStrategy(1000, 100, 1));
+
+        private final Supplier<ComputerMoveStrategy> factory;
+
+        StrategyType(final Supplier<ComputerMoveStrategy> factory) {
+            this.factory = factory;
+        }
+
+        ComputerMoveStrategy create() {
+            return factory.get();
+        }
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2019. http://devonline.academy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package academy.devonline.gomoku.benchmark;
+
+/**
+ * The part of the game table cells filled before the benchmark.
+ *
+ * @author devonline
+ * @link http://devonline.academy/java
+ */
+public enum FillRatio {
+
+    EMPTY(0.0),
+
+    MID_GAME(0.5),
+
+    NEAR_FULL(0.9);
+
+    private final double value;
+
+    FillRatio(final double value) {
+        this.value = value;
+    }
+
+    public double getValue() {
+        return value;
+    }
+}
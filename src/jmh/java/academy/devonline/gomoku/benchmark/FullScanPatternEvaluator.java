@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2019. http://devonline.academy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package academy.devonline.gomoku.benchmark;
+
+import academy.devonline.gomoku.component.search.PatternEvaluator;
+import academy.devonline.gomoku.model.game.GameTable;
+import academy.devonline.gomoku.model.game.Sign;
+
+import static academy.devonline.gomoku.Constants.WIN_COMBINATION_SIZE;
+import static academy.devonline.gomoku.component.search.LinePatternTable.FIVE;
+import static academy.devonline.gomoku.component.search.LinePatternTable.OPEN_FOUR;
+import static academy.devonline.gomoku.component.search.LinePatternTable.OPEN_THREE;
+import static academy.devonline.gomoku.component.search.LinePatternTable.PATTERN_LENGTH;
+
+/**
+ * Straightforward implementation of the {@link PatternEvaluator} scoring: reads each cell of each pattern
+ * from the game table and classifies the pattern without lookup tables.
+ * <p>
+ * This implementation is the baseline of {@link PatternEvaluatorBenchmark}.
+ *
+ * @author devonline
+ * @link http://devonline.academy/java
+ */
+final class FullScanPatternEvaluator {
+
+    private static final int[] WINDOW_WEIGHTS = {0, 1, 10, 100, 1000};
+
+    private static final int[][] DIRECTIONS = {{0, 1}, {1, 0}, {1, 1}, {1, -1}};
+
+    private FullScanPatternEvaluator() {
+    }
+
+    /**
+     * @return the score of the own lines minus the score of the opponent lines
+     */
+    static int evaluate(final GameTable gameTable, final Sign sign) {
+        return evaluateLines(gameTable, sign) - evaluateLines(gameTable, sign.oppositeSign());
+    }
+
+    private static int evaluateLines(final GameTable gameTable, final Sign sign) {
+        final int size = gameTable.getSize();
+        int score = 0;
+        for (final int[] direction : DIRECTIONS) {
+            for (int row = 0; row < size; row++) {
+                for (int col = 0; col < size; col++) {
+                    // the line starts at the cell if the previous cell is outside the game table
+                    if (!gameTable.isValid(row - direction[0], col - direction[1])) {
+                        score += evaluateLine(gameTable, sign, row, col, direction[0], direction[1]);
+                    }
+                }
+            }
+        }
+        return score;
+    }
+
+    private static int evaluateLine(final GameTable gameTable,
+                                    final Sign sign,
+                                    final int row,
+                                    final int col,
+                                    final int deltaRow,
+                                    final int deltaCol) {
+        int length = 0;
+        while (gameTable.isValid(row + length * deltaRow, col + length * deltaCol)) {
+            length++;
+        }
+        int score = 0;
+        for (int start = -1; start <= length - WIN_COMBINATION_SIZE; start++) {
+            int ownCount = 0;
+            int innerOwnCount = 0;
+            boolean windowBlocked = false;
+            boolean open = true;
+            for (int k = 0; k < PATTERN_LENGTH; k++) {
+                final int r = row + (start + k) * deltaRow;
+                final int c = col + (start + k) * deltaCol;
+                final boolean inner = k > 0 && k < PATTERN_LENGTH - 1;
+                final boolean outside = !gameTable.isValid(r, c);
+                final Sign cellSign = outside ? sign.oppositeSign() : gameTable.getSign(gameTable.getCellIndex(r, c));
+                if (cellSign == sign.oppositeSign()) {
+                    windowBlocked |= k < WIN_COMBINATION_SIZE;
+                    open = false;
+                } else if (cellSign == sign) {
+                    if (k < WIN_COMBINATION_SIZE) {
+                        ownCount++;
+                    }
+                    if (inner) {
+                        innerOwnCount++;
+                    } else {
+                        open = false;
+                    }
+                }
+            }
+            if (!windowBlocked) {
+                score += ownCount == WIN_COMBINATION_SIZE ? FIVE : WINDOW_WEIGHTS[ownCount];
+            }
+            if (open && innerOwnCount == WIN_COMBINATION_SIZE - 1) {
+                score += OPEN_FOUR;
+            } else if (open && innerOwnCount == WIN_COMBINATION_SIZE - 2) {
+                score += OPEN_THREE;
+            }
+        }
+        return score;
+    }
+}
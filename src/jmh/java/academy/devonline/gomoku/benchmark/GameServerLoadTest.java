@@ -0,0 +1,231 @@
+/*
+ * Copyright (c) 2019. http://devonline.academy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package academy.devonline.gomoku.benchmark;
+
+import academy.devonline.gomoku.component.headless.ConsoleSummaryDataPrinter;
+import academy.devonline.gomoku.component.server.GameServer;
+import academy.devonline.gomoku.model.config.Level;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The load-test client of {@link GameServer}: opens the idle sessions, which only hold the connection, and
+ * the active sessions, which play random moves as fast as the server replies, and prints the count of
+ * computer moves per second and the response time of the server (the user move is sent, the computer move
+ * is made and the next turn is received):
+ * <pre>
+ * java -cp target/classes academy.devonline.gomoku.Launcher user computer level3 server=9000
+ * mvn -P jmh compile exec:exec -Dbenchmark.mainClass=academy.devonline.gomoku.benchmark.GameServerLoadTest \
+ *     -Djmh.args="9000 10000 100 30"
+ * </pre>
+ * The arguments: server port, idle session count, active session count and test duration in seconds.
+ * If the port is 0, the LEVEL3 server is started in the same JVM on the free port.
+ *
+ * @author devonline
+ * @link http://devonline.academy/java
+ */
+public final class GameServerLoadTest {
+
+    private static final int EMBEDDED_SERVER_SIZE = 15;
+
+    private static final int MAX_RESPONSE_TIME_IN_MILLIS = 10_000;
+
+    private GameServerLoadTest() {
+    }
+
+    public static void main(final String[] args) throws Exception {
+        final int port = args.length > 0 ? Integer.parseInt(args[0]) : 0;
+        final int idleSessionCount = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+        final int activeSessionCount = args.length > 2 ? Integer.parseInt(args[2]) : 16;
+        final long durationInMillis = (args.length > 3 ? Long.parseLong(args[3]) : 10) * 1000;
+        final GameServer embeddedServer = port == 0 ? startEmbeddedServer() : null;
+        final int serverPort = embeddedServer != null ? embeddedServer.getPort() : port;
+
+        final List<Socket> idleSessions = new ArrayList<>(idleSessionCount);
+        final long connectStart = System.nanoTime();
+        for (int i = 0; i < idleSessionCount; i++) {
+            idleSessions.add(new Socket(InetAddress.getLoopbackAddress(), serverPort));
+        }
+        System.out.printf("Opened %s idle sessions in %.2f s%n",
+                idleSessionCount, (System.nanoTime() - connectStart) / 1e9);
+
+        final LongAdder moveCount = new LongAdder();
+        final LongAdder gameCount = new LongAdder();
+        // responseTimeCounts[millis] is the count of responses with the specified time
+        final long[] responseTimeCounts = new long[MAX_RESPONSE_TIME_IN_MILLIS + 1];
+        final long deadline = System.currentTimeMillis() + durationInMillis;
+        final List<Thread> clients = new ArrayList<>(activeSessionCount);
+        for (int i = 0; i < activeSessionCount; i++) {
+            final Thread client = new Thread(
+                    () -> playRandomMoves(serverPort, deadline, moveCount, gameCount, responseTimeCounts),
+                    "load-test-client-" + i
+            );
+            client.start();
+            clients.add(client);
+        }
+        final long start = System.nanoTime();
+        for (final Thread client : clients) {
+            client.join();
+        }
+        final double seconds = (System.nanoTime() - start) / 1e9;
+
+        for (final Socket socket : idleSessions) {
+            socket.close();
+        }
+        if (embeddedServer != null) {
+            embeddedServer.close();
+        }
+        System.out.printf("Active sessions: %s, games: %s, computer moves: %s, computer moves/second: %.1f%n",
+                activeSessionCount, gameCount.sum(), moveCount.sum(), moveCount.sum() / seconds);
+        final long[] counts;
+        synchronized (responseTimeCounts) {
+            counts = Arrays.copyOf(responseTimeCounts, responseTimeCounts.length);
+        }
+        System.out.printf("Response time: p50=%s ms, p99=%s ms, max=%s ms%n",
+                getPercentile(counts, 0.5), getPercentile(counts, 0.99), getPercentile(counts, 1.0));
+    }
+
+    private static GameServer startEmbeddedServer() throws InterruptedException {
+        final GameServer server = new GameServer(
+                0, EMBEDDED_SERVER_SIZE, Level.LEVEL3, 1, 0, null, null, new ConsoleSummaryDataPrinter()
+        );
+        final Thread thread = new Thread(() -> {
+            try {
+                server.start();
+            } catch (final IOException exception) {
+                throw new UncheckedIOException(exception);
+            }
+        }, "embedded-game-server");
+        thread.setDaemon(true);
+        thread.start();
+        while (server.getPort() == 0) {
+            Thread.sleep(10);
+        }
+        return server;
+    }
+
+    /**
+     * Plays the random moves: the move is sent on each 'TURN' to the random empty cell of the last 'TABLE'.
+     * The response is counted on the next 'TURN' or on the end of the game only if the last 'TABLE' contains more
+     * 'O' signs than the table, on which the move was sent, so the 'TURN' after the user win or after the error
+     * is not counted. The first computer move of the new game is not a response and is not counted too
+     */
+    private static void playRandomMoves(final int port,
+                                        final long deadline,
+                                        final LongAdder moveCount,
+                                        final LongAdder gameCount,
+                                        final long[] responseTimeCounts) {
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+            socket.setTcpNoDelay(true);
+            final BufferedReader reader =
+                    new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            final Writer writer = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8);
+            String table = null;
+            long sentAt = 0;
+            int sentComputerSignCount = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith("TABLE ")) {
+                    table = line;
+                } else if (line.startsWith("INFO ") && (line.contains("WIN") || line.contains("DRAW"))) {
+                    gameCount.increment();
+                    if (sentAt != 0 && countComputerSigns(table) > sentComputerSignCount) {
+                        countResponse(sentAt, moveCount, responseTimeCounts);
+                    }
+                    sentAt = 0;
+                } else if ("TURN".equals(line)) {
+                    if (sentAt != 0 && countComputerSigns(table) > sentComputerSignCount) {
+                        countResponse(sentAt, moveCount, responseTimeCounts);
+                    }
+                    if (System.currentTimeMillis() >= deadline) {
+                        writer.write("QUIT\n");
+                        writer.flush();
+                        return;
+                    }
+                    writer.write(getRandomMove(table));
+                    writer.flush();
+                    sentAt = System.nanoTime();
+                    sentComputerSignCount = countComputerSigns(table);
+                }
+            }
+        } catch (final IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    private static void countResponse(final long sentAt, final LongAdder moveCount, final long[] responseTimeCounts) {
+        final long millis = (System.nanoTime() - sentAt) / 1_000_000;
+        synchronized (responseTimeCounts) {
+            responseTimeCounts[(int) Math.min(millis, MAX_RESPONSE_TIME_IN_MILLIS)]++;
+        }
+        moveCount.increment();
+    }
+
+    /**
+     * The computer plays 'O'
+     */
+    private static int countComputerSigns(final String table) {
+        int count = 0;
+        for (int i = table.lastIndexOf(' ') + 1; i < table.length(); i++) {
+            if (table.charAt(i) == 'O') {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static String getRandomMove(final String table) {
+        final String[] values = table.split(" ");
+        final int size = Integer.parseInt(values[1]);
+        final String cells = values[2];
+        int cell;
+        do {
+            cell = ThreadLocalRandom.current().nextInt(cells.length());
+        } while (cells.charAt(cell) != '.');
+        return String.format("MOVE %s %s%n", cell / size + 1, cell % size + 1);
+    }
+
+    private static long getPercentile(final long[] counts, final double percentile) {
+        long total = 0;
+        for (final long count : counts) {
+            total += count;
+        }
+        final long target = (long) Math.ceil(total * percentile);
+        long sum = 0;
+        for (int millis = 0; millis < counts.length; millis++) {
+            sum += counts[millis];
+            if (sum >= target && counts[millis] > 0) {
+                return millis;
+            }
+        }
+        return 0;
+    }
+}
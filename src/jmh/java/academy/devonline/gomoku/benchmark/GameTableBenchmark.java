@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2019. http://devonline.academy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package academy.devonline.gomoku.benchmark;
+
+import academy.devonline.gomoku.model.config.Size;
+import academy.devonline.gomoku.model.game.GameTable;
+import academy.devonline.gomoku.model.game.Sign;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading and updating of the game table cells. The update benchmark sets and clears a sign, so
+ * the position is the same for each invocation.
+ *
+ * @author devonline
+ * @link http://devonline.academy/java
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameTableBenchmark {
+
+    @Param({"SIZE9", "SIZE15"})
+    private Size size;
+
+    @Param({"EMPTY", "MID_GAME", "NEAR_FULL"})
+    private FillRatio fillRatio;
+
+    private GameTable gameTable;
+
+    private Sign sign;
+
+    private int cellIndex;
+
+    @Setup
+    public void setup() {
+        gameTable = GameTables.create(size.intValue(), fillRatio);
+        sign = GameTables.getSignToMove(gameTable);
+        cellIndex = gameTable.getEmptyCell(gameTable.getEmptyCellCount() / 2);
+    }
+
+    @Benchmark
+    public void getSign(final Blackhole blackhole) {
+        final int cellCount = gameTable.getSize() * gameTable.getSize();
+        for (int i = 0; i < cellCount; i++) {
+            blackhole.consume(gameTable.getSign(i));
+        }
+    }
+
+    @Benchmark
+    public void isEmpty(final Blackhole blackhole) {
+        final int cellCount = gameTable.getSize() * gameTable.getSize();
+        for (int i = 0; i < cellCount; i++) {
+            blackhole.consume(gameTable.isEmpty(i));
+        }
+    }
+
+    @Benchmark
+    public long setSign() {
+        gameTable.setSign(cellIndex, sign);
+        gameTable.setSign(cellIndex, Sign.EMPTY);
+        return gameTable.getHash();
+    }
+}
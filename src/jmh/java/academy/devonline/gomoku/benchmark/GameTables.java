@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2019. http://devonline.academy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package academy.devonline.gomoku.benchmark;
+
+import academy.devonline.gomoku.model.game.GameTable;
+import academy.devonline.gomoku.model.game.Sign;
+
+import java.util.Random;
+
+/**
+ * Creates reproducible game positions for the benchmarks.
+ *
+ * @author devonline
+ * @link http://devonline.academy/java
+ */
+final class GameTables {
+
+    private static final long SEED = 0;
+
+    private static final int MAX_ATTEMPTS_PER_MOVE = 100;
+
+    private GameTables() {
+    }
+
+    /**
+     * @return the game table filled by random moves of X and O players (X moves first) without
+     * any win combination. The count of moves can be slightly less than requested if the win combination
+     * can't be avoided
+     */
+    static GameTable create(final int size, final FillRatio fillRatio) {
+        final GameTable gameTable = new GameTable(size);
+        final Random random = new Random(SEED);
+        final int moveCount = (int) (size * size * fillRatio.getValue());
+        Sign sign = Sign.X;
+        for (int i = 0; i < moveCount; i++) {
+            if (!tryToMakeMove(gameTable, sign, random)) {
+                break;
+            }
+            sign = sign.oppositeSign();
+        }
+        return gameTable;
+    }
+
+    private static boolean tryToMakeMove(final GameTable gameTable, final Sign sign, final Random random) {
+        for (int i = 0; i < MAX_ATTEMPTS_PER_MOVE; i++) {
+            final int cell = gameTable.getEmptyCell(random.nextInt(gameTable.getEmptyCellCount()));
+            gameTable.setSign(cell, sign);
+            if (!gameTable.hasWinCombination(cell, sign)) {
+                return true;
+            }
+            gameTable.setSign(cell, Sign.EMPTY);
+        }
+        return false;
+    }
+
+    /**
+     * @return the sign of the player who makes the next move, if X moves first
+     */
+    static Sign getSignToMove(final GameTable gameTable) {
+        final int moveCount = gameTable.getSize() * gameTable.getSize() - gameTable.getEmptyCellCount();
+        return moveCount % 2 == 0 ? Sign.X : Sign.O;
+    }
+
+    /**
+     * Removes the move made by the benchmarked code, so each invocation starts from the same position
+     */
+    static void undoMove(final GameTable gameTable, final int expectedEmptyCellCount) {
+        if (gameTable.getEmptyCellCount() < expectedEmptyCellCount) {
+            gameTable.setSign(gameTable.getLastMove(), Sign.EMPTY);
+        }
+    }
+}
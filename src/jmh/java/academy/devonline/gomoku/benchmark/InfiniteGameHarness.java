@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2019. http://devonline.academy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package academy.devonline.gomoku.benchmark;
+
+import academy.devonline.gomoku.component.search.SparseMoveSearch;
+import academy.devonline.gomoku.model.game.Sign;
+import academy.devonline.gomoku.model.game.SparseGameTable;
+
+import java.util.Random;
+
+/**
+ * Plays the infinite gomoku games of {@link SparseMoveSearch} against itself on {@link SparseGameTable} and prints
+ * the average move time by the count of signs, so the growth of the move cost with the count of signs is visible:
+ * <pre>
+ * mvn -P jmh compile exec:exec -Dbenchmark.mainClass=academy.devonline.gomoku.benchmark.InfiniteGameHarness \
+ *     -Djmh.args="20 2000"
+ * </pre>
+ * The arguments: game count and max move count of the game. The first moves of each game are random,
+ * so the games are different.
+ *
+ * @author devonline
+ * @link http://devonline.academy/java
+ */
+public final class InfiniteGameHarness {
+
+    private static final int RANDOM_MOVE_COUNT = 4;
+
+    private static final int BUCKET_SIZE = 100;
+
+    private InfiniteGameHarness() {
+    }
+
+    public static void main(final String[] args) {
+        final int gameCount = args.length > 0 ? Integer.parseInt(args[0]) : 20;
+        final int maxMoveCount = args.length > 1 ? Integer.parseInt(args[1]) : 2000;
+        final SparseMoveSearch search = new SparseMoveSearch();
+        final Random random = new Random(gameCount);
+        final int bucketCount = (maxMoveCount + BUCKET_SIZE - 1) / BUCKET_SIZE;
+        final long[] moveTimesInNanos = new long[bucketCount];
+        final long[] moveCounts = new long[bucketCount];
+        int xWinCount = 0;
+        int oWinCount = 0;
+        long totalMoveCount = 0;
+        for (int game = 0; game < gameCount; game++) {
+            final SparseGameTable gameTable = new SparseGameTable();
+            Sign sign = Sign.X;
+            for (int move = 0; move < maxMoveCount; move++) {
+                final long start = System.nanoTime();
+                final long key = move < RANDOM_MOVE_COUNT ?
+                        getRandomMove(gameTable, random) :
+                        search.findBestMove(gameTable, sign);
+                final int row = SparseGameTable.getRow(key);
+                final int col = SparseGameTable.getCol(key);
+                gameTable.makeMove(row, col, sign);
+                final boolean win = gameTable.hasWinCombination(row, col, sign);
+                moveTimesInNanos[move / BUCKET_SIZE] += System.nanoTime() - start;
+                moveCounts[move / BUCKET_SIZE]++;
+                if (win) {
+                    if (sign == Sign.X) {
+                        xWinCount++;
+                    } else {
+                        oWinCount++;
+                    }
+                    break;
+                }
+                sign = sign.oppositeSign();
+            }
+            totalMoveCount += gameTable.getMoveCount();
+        }
+        System.out.printf("Games: %s, X wins: %s, O wins: %s, unfinished: %s, average move count: %.1f%n",
+                gameCount, xWinCount, oWinCount, gameCount - xWinCount - oWinCount,
+                (double) totalMoveCount / gameCount);
+        System.out.println("Signs on the table    Moves    Average move time, us");
+        for (int i = 0; i < bucketCount; i++) {
+            if (moveCounts[i] > 0) {
+                System.out.printf("%8s - %-8s %10s %20.1f%n", i * BUCKET_SIZE, (i + 1) * BUCKET_SIZE - 1,
+                        moveCounts[i], moveTimesInNanos[i] / 1_000.0 / moveCounts[i]);
+            }
+        }
+    }
+
+    private static long getRandomMove(final SparseGameTable gameTable, final Random random) {
+        while (true) {
+            final int row = random.nextInt(5) - 2;
+            final int col = random.nextInt(5) - 2;
+            if (gameTable.isEmpty(row, col)) {
+                return SparseGameTable.getKey(row, col);
+            }
+        }
+    }
+}
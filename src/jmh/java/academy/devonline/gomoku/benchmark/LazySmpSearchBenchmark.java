@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2019. http://devonline.academy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package academy.devonline.gomoku.benchmark;
+
+import academy.devonline.gomoku.component.search.LazySmpSearch;
+import academy.devonline.gomoku.model.game.GameTable;
+import academy.devonline.gomoku.model.game.Sign;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time-to-depth of the Lazy SMP search for the different thread counts. Each search starts with an empty
+ * transposition table. The helpers share the pool with a thread per additional CPU core, so the thread counts
+ * above the count of cores do not add the parallel helpers.
+ *
+ * @author devonline
+ * @link http://devonline.academy/java
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 20)
+@Fork(1)
+public class LazySmpSearchBenchmark {
+
+    private static final int SIZE = 15;
+
+    /**
+     * Middle game position: {row, col} of the moves, X moves first
+     */
+    private static final int[][] MOVES = {
+            {7, 7}, {7, 8}, {8, 8}, {6, 6}, {8, 7}, {8, 6}, {6, 8}, {9, 9}, {5, 9}, {7, 6}
+    };
+
+    @Param({"1", "2", "4", "8", "16"})
+    private int threadCount;
+
+    @Param({"6"})
+    private int depth;
+
+    private LazySmpSearch search;
+
+    private GameTable gameTable;
+
+    private Sign sign;
+
+    @Setup(Level.Trial)
+    public void setupTrial() {
+        search = new LazySmpSearch(threadCount, 1 << 20, 12);
+        gameTable = new GameTable(SIZE);
+        sign = Sign.X;
+        for (final int[] move : MOVES) {
+            gameTable.setSign(gameTable.getCellIndex(move[0], move[1]), sign);
+            sign = sign.oppositeSign();
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void setupInvocation() {
+        search.getTranspositionTable().clear();
+    }
+
+    @Benchmark
+    public int timeToDepth() {
+        return search.findBestMove(gameTable, sign, depth);
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2019. http://devonline.academy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package academy.devonline.gomoku.benchmark;
+
+import academy.devonline.gomoku.component.CellVerifier;
+import academy.devonline.gomoku.component.ComputerMove;
+import academy.devonline.gomoku.component.ComputerMoveStrategy;
+import academy.devonline.gomoku.component.WinnerVerifier;
+import academy.devonline.gomoku.model.config.Level;
+import academy.devonline.gomoku.model.config.Size;
+import academy.devonline.gomoku.model.game.GameTable;
+import academy.devonline.gomoku.model.game.Player;
+
+import static academy.devonline.gomoku.model.game.Sign.O;
+import static academy.devonline.gomoku.model.game.Sign.X;
+
+/**
+ * Plays the games between two levels without GUI and prints the win rate, the average move time and
+ * the statistics of the strategies (nodes or playouts per second):
+ * <pre>
+ * mvn -P jmh compile exec:exec -Dbenchmark.mainClass=academy.devonline.gomoku.benchmark.LevelMatchHarness \
+ *     -Djmh.args="LEVEL4 LEVEL2 10 SIZE15"
+ * </pre>
+ * The levels make the first move in turn.
+ *
+ * @author devonline
+ * @link http://devonline.academy/java
+ */
+public final class LevelMatchHarness {
+
+    private LevelMatchHarness() {
+    }
+
+    public static void main(final String[] args) {
+        final Level level1 = Level.valueOf(args[0].toUpperCase());
+        final Level level2 = Level.valueOf(args[1].toUpperCase());
+        final int gameCount = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+        final int size = args.length > 3 ? Size.valueOf(args[3].toUpperCase()).intValue() : 15;
+        final ComputerMoveStrategy[] strategies1 = level1.getStrategies();
+        final ComputerMoveStrategy[] strategies2 = level2.getStrategies();
+        final ComputerMove move1 = new ComputerMove(strategies1, 0);
+        final ComputerMove move2 = new ComputerMove(strategies2, 0);
+        final WinnerVerifier winnerVerifier = new WinnerVerifier();
+        final CellVerifier cellVerifier = new CellVerifier();
+        final long[] wins = new long[3];
+        final long[] moveCounts = new long[2];
+        final long[] moveTimesInNanos = new long[2];
+        for (int game = 0; game < gameCount; game++) {
+            final boolean level1First = game % 2 == 0;
+            final Player[] players = {
+                    new Player(X, level1First ? move1 : move2),
+                    new Player(O, level1First ? move2 : move1)
+            };
+            final GameTable gameTable = new GameTable(size);
+            for (int turn = 0; ; turn++) {
+                final Player player = players[turn % 2];
+                final int levelIndex = level1First == (turn % 2 == 0) ? 0 : 1;
+                final long start = System.nanoTime();
+                player.makeMove(gameTable);
+                moveTimesInNanos[levelIndex] += System.nanoTime() - start;
+                moveCounts[levelIndex]++;
+                if (winnerVerifier.isWinner(gameTable, player)) {
+                    wins[levelIndex]++;
+                    break;
+                }
+                if (cellVerifier.allCellsFilled(gameTable)) {
+                    wins[2]++;
+                    break;
+                }
+            }
+        }
+        System.out.printf("Games: %s, size: %sx%s%n", gameCount, size, size);
+        printLevel(level1, wins[0], gameCount, moveCounts[0], moveTimesInNanos[0], strategies1);
+        printLevel(level2, wins[1], gameCount, moveCounts[1], moveTimesInNanos[1], strategies2);
+        System.out.printf("Draws: %s%n", wins[2]);
+    }
+
+    private static void printLevel(final Level level,
+                                   final long wins,
+                                   final int gameCount,
+                                   final long moveCount,
+                                   final long moveTimeInNanos,
+                                   final ComputerMoveStrategy[] strategies) {
+        System.out.printf("%s: win rate %.1f%%, average move time %.3f ms%n",
+                level, 100.0 * wins / gameCount, moveTimeInNanos / 1_000_000.0 / Math.max(1, moveCount));
+        for (final ComputerMoveStrategy strategy : strategies) {
+            if (hasStatistics(strategy)) {
+                System.out.printf("    %s%n", strategy);
+            }
+        }
+    }
+
+    /**
+     * Strategies with statistics override the toString method
+     */
+    private static boolean hasStatistics(final ComputerMoveStrategy strategy) {
+        try {
+            return strategy.getClass().getMethod("toString").getDeclaringClass() != Object.class;
+        } catch (final NoSuchMethodException exception) {
+            return false;
+        }
+    }
+}
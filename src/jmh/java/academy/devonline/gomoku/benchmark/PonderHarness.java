@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2019. http://devonline.academy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package academy.devonline.gomoku.benchmark;
+
+import academy.devonline.gomoku.component.CellVerifier;
+import academy.devonline.gomoku.component.ComputerMove;
+import academy.devonline.gomoku.component.PonderingComputerMove;
+import academy.devonline.gomoku.component.WinnerVerifier;
+import academy.devonline.gomoku.model.config.Level;
+import academy.devonline.gomoku.model.game.GameTable;
+import academy.devonline.gomoku.model.game.Player;
+
+import static academy.devonline.gomoku.model.game.Sign.O;
+import static academy.devonline.gomoku.model.game.Sign.X;
+
+/**
+ * Plays the pondering computer against the simulated user, who is the computer of the specified level
+ * thinking the specified time, and prints the ponder-hit rate and the response time of the pondering computer
+ * for ponder hits and misses:
+ * <pre>
+ * mvn -P jmh compile exec:exec -Dbenchmark.mainClass=academy.devonline.gomoku.benchmark.PonderHarness \
+ *     -Djmh.args="LEVEL3 LEVEL3 4 1000 300"
+ * </pre>
+ * The arguments: computer level, user level, game count, user think time and computer think time in millis.
+ *
+ * @author devonline
+ * @link http://devonline.academy/java
+ */
+public final class PonderHarness {
+
+    private static final int SIZE = 15;
+
+    private PonderHarness() {
+    }
+
+    public static void main(final String[] args) throws InterruptedException {
+        final Level computerLevel = Level.valueOf(args[0].toUpperCase());
+        final Level userLevel = Level.valueOf(args[1].toUpperCase());
+        final int gameCount = args.length > 2 ? Integer.parseInt(args[2]) : 4;
+        final long userThinkTimeInMillis = args.length > 3 ? Long.parseLong(args[3]) : 1000;
+        final long computerThinkTimeInMillis = args.length > 4 ? Long.parseLong(args[4]) : 300;
+        final PonderingComputerMove computer =
+                new PonderingComputerMove(computerLevel.getStrategies(), 0, computerThinkTimeInMillis);
+        final ComputerMove user = new ComputerMove(userLevel.getStrategies(), 0, computerThinkTimeInMillis);
+        final Player computerPlayer = new Player(X, computer);
+        final Player userPlayer = new Player(O, user);
+        final WinnerVerifier winnerVerifier = new WinnerVerifier();
+        final CellVerifier cellVerifier = new CellVerifier();
+        final long[] responseCounts = new long[2];
+        final long[] responseTimesInNanos = new long[2];
+        for (int game = 0; game < gameCount; game++) {
+            final GameTable gameTable = new GameTable(SIZE);
+            for (int turn = game % 2; ; turn++) {
+                final Player player = turn % 2 == 0 ? computerPlayer : userPlayer;
+                final long start = System.nanoTime();
+                final long hitCount = computer.getPonderHitCount();
+                player.makeMove(gameTable);
+                if (player == computerPlayer) {
+                    final int index = computer.getPonderHitCount() > hitCount ? 0 : 1;
+                    responseTimesInNanos[index] += System.nanoTime() - start;
+                    responseCounts[index]++;
+                } else {
+                    final long remainingTimeInNanos =
+                            userThinkTimeInMillis * 1_000_000L - (System.nanoTime() - start);
+                    if (remainingTimeInNanos > 0) {
+                        Thread.sleep(remainingTimeInNanos / 1_000_000L);
+                    }
+                }
+                if (winnerVerifier.isWinner(gameTable, player) || cellVerifier.allCellsFilled(gameTable)) {
+                    break;
+                }
+            }
+        }
+        System.out.printf("Games: %s, computer: %s, user: %s, user think time: %s ms, computer think time: %s ms%n",
+                gameCount, computerLevel, userLevel, userThinkTimeInMillis, computerThinkTimeInMillis);
+        System.out.printf("Ponder hit rate: %.1f%% (%s of %s)%n",
+                100 * computer.getPonderHitRate(), computer.getPonderHitCount(), computer.getPonderCount());
+        System.out.printf("Average response time: ponder hit %.3f ms, ponder miss %.3f ms%n",
+                responseTimesInNanos[0] / 1_000_000.0 / Math.max(1, responseCounts[0]),
+                responseTimesInNanos[1] / 1_000_000.0 / Math.max(1, responseCounts[1]));
+    }
+}
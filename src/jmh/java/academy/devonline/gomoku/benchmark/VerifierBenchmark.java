@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2019. http://devonline.academy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package academy.devonline.gomoku.benchmark;
+
+import academy.devonline.gomoku.component.CellVerifier;
+import academy.devonline.gomoku.component.FullScanWinnerVerifier;
+import academy.devonline.gomoku.component.WinnerVerifier;
+import academy.devonline.gomoku.model.config.Size;
+import academy.devonline.gomoku.model.game.GameTable;
+import academy.devonline.gomoku.model.game.Player;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Verifiers invoked by the game after each move. The position does not contain any win combination, so
+ * the winner verifiers check all lines they are able to check. {@link FullScanWinnerVerifier} is the reference.
+ *
+ * @author devonline
+ * @link http://devonline.academy/java
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VerifierBenchmark {
+
+    @Param({"SIZE9", "SIZE15"})
+    private Size size;
+
+    @Param({"EMPTY", "MID_GAME", "NEAR_FULL"})
+    private FillRatio fillRatio;
+
+    private final WinnerVerifier winnerVerifier = new WinnerVerifier();
+
+    private final WinnerVerifier fullScanWinnerVerifier = new FullScanWinnerVerifier();
+
+    private final CellVerifier cellVerifier = new CellVerifier();
+
+    private GameTable gameTable;
+
+    private Player player;
+
+    @Setup
+    public void setup() {
+        gameTable = GameTables.create(size.intValue(), fillRatio);
+        // the player who made the last move
+        player = new Player(GameTables.getSignToMove(gameTable).oppositeSign(), (gameTable, sign) -> {
+        });
+    }
+
+    @Benchmark
+    public boolean isWinner() {
+        return winnerVerifier.isWinner(gameTable, player);
+    }
+
+    @Benchmark
+    public boolean isWinnerFullScan() {
+        return fullScanWinnerVerifier.isWinner(gameTable, player);
+    }
+
+    @Benchmark
+    public boolean allCellsFilled() {
+        return cellVerifier.allCellsFilled(gameTable);
+    }
+}
@@ -33,12 +33,28 @@ public final class Constants {
 
     public static final String DELAY_PREFIX = "DELAY=";
 
+    public static final String THREADS_PREFIX = "THREADS=";
+
+    public static final String GAMES_PREFIX = "GAMES=";
+
+    public static final String THINK_PREFIX = "THINK=";
+
+    public static final String BOOK_PREFIX = "BOOK=";
+
+    public static final String CACHE_PREFIX = "CACHE=";
+
+    public static final String SERVER_PREFIX = "SERVER=";
+
+    public static final String INFINITE = "INFINITE";
+
     public static final Level DEFAULT_LEVEL = LEVEL2;
 
     public static final Size DEFAULT_SIZE = SIZE15;
 
     public static final long DEFAULT_DELAY_IN_MILLIS = 0;
 
+    public static final int DEFAULT_THREAD_COUNT = 1;
+
     private Constants() {
     }
 }
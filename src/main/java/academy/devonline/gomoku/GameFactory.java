@@ -19,15 +19,27 @@ package academy.devonline.gomoku;
 
 import academy.devonline.gomoku.component.CellVerifier;
 import academy.devonline.gomoku.component.ComputerMove;
+import academy.devonline.gomoku.component.ComputerMoveStrategy;
 import academy.devonline.gomoku.component.Game;
+import academy.devonline.gomoku.component.Move;
+import academy.devonline.gomoku.component.PonderingComputerMove;
 import academy.devonline.gomoku.component.UserMove;
 import academy.devonline.gomoku.component.WinnerVerifier;
+import academy.devonline.gomoku.component.book.OpeningBook;
 import academy.devonline.gomoku.component.config.CommandLineArgumentParser;
+import academy.devonline.gomoku.component.headless.ConsoleSummaryDataPrinter;
+import academy.devonline.gomoku.component.headless.Tournament;
+import academy.devonline.gomoku.component.infinite.InfiniteGame;
+import academy.devonline.gomoku.component.search.PersistentEvaluationCache;
+import academy.devonline.gomoku.component.server.GameServer;
 import academy.devonline.gomoku.component.swing.GameWindow;
 import academy.devonline.gomoku.model.config.Level;
 import academy.devonline.gomoku.model.config.PlayerType;
 import academy.devonline.gomoku.model.game.Player;
 
+import java.io.IOException;
+import java.nio.file.Path;
+
 import static academy.devonline.gomoku.model.config.PlayerType.USER;
 import static academy.devonline.gomoku.model.game.Sign.O;
 import static academy.devonline.gomoku.model.game.Sign.X;
@@ -44,33 +56,102 @@ public class GameFactory {
 
     private final Level level;
 
+    private final Level player2Level;
+
     private final int size;
 
     private final long delayInMillis;
 
+    private final int threadCount;
+
+    private final int gameCount;
+
+    private final long thinkTimeInMillis;
+
+    private final OpeningBook openingBook;
+
+    private final PersistentEvaluationCache evaluationCache;
+
+    private final int serverPort;
+
+    private final boolean infinite;
+
     public GameFactory(final String[] args) {
         final CommandLineArgumentParser.CommandLineArguments commandLineArguments =
                 new CommandLineArgumentParser(args).parse();
         player1Type = commandLineArguments.getPlayer1Type();
         player2Type = commandLineArguments.getPlayer2Type();
         level = commandLineArguments.getLevel();
+        player2Level = commandLineArguments.getPlayer2Level();
         size = commandLineArguments.getSize().intValue();
         delayInMillis = commandLineArguments.getDelayInMillis();
+        threadCount = commandLineArguments.getThreadCount();
+        gameCount = commandLineArguments.getGameCount();
+        thinkTimeInMillis = commandLineArguments.getThinkTimeInMillis();
+        openingBook = openOpeningBook(commandLineArguments.getBookPath());
+        evaluationCache = createEvaluationCache(commandLineArguments.getCachePath());
+        serverPort = commandLineArguments.getServerPort();
+        infinite = commandLineArguments.isInfinite();
+    }
+
+    private static OpeningBook openOpeningBook(final Path bookPath) {
+        if (bookPath == null) {
+            return null;
+        }
+        try {
+            return OpeningBook.open(bookPath);
+        } catch (final IOException exception) {
+            throw new IllegalArgumentException("Can't open the opening book: " + bookPath, exception);
+        }
+    }
+
+    /**
+     * The queued results are written to the cache file on exit
+     */
+    private static PersistentEvaluationCache createEvaluationCache(final Path cachePath) {
+        if (cachePath == null) {
+            return null;
+        }
+        final PersistentEvaluationCache evaluationCache =
+                new PersistentEvaluationCache(cachePath, PersistentEvaluationCache.DEFAULT_CAPACITY);
+        Runtime.getRuntime().addShutdownHook(new Thread(evaluationCache::close, "evaluation-cache-close"));
+        return evaluationCache;
+    }
+
+    /**
+     * @return true if the count of games is defined, so the games must be played by {@link #createTournament()}
+     */
+    public boolean isHeadless() {
+        return gameCount > 0;
+    }
+
+    /**
+     * @return true if the server port is defined, so the games must be played by {@link #createGameServer()}
+     */
+    public boolean isServer() {
+        return serverPort > 0;
+    }
+
+    /**
+     * @return true if the infinite mode is defined, so the game must be played by {@link #createInfiniteGame()}
+     */
+    public boolean isInfinite() {
+        return infinite;
     }
 
     public Game create() {
-        final GameWindow gameWindow = new GameWindow(size);
+        final GameWindow gameWindow = GameWindow.create(size);
         final Player player1;
         if (player1Type == USER) {
             player1 = new Player(X, new UserMove(gameWindow, gameWindow));
         } else {
-            player1 = new Player(X, new ComputerMove(level.getStrategies(), delayInMillis));
+            player1 = new Player(X, createComputerMove(level, player2Type));
         }
         final Player player2;
         if (player2Type == USER) {
             player2 = new Player(O, new UserMove(gameWindow, gameWindow));
         } else {
-            player2 = new Player(O, new ComputerMove(level.getStrategies(), delayInMillis));
+            player2 = new Player(O, createComputerMove(player2Level, player1Type));
         }
         final boolean canSecondPlayerMakeFirstMove = player1Type != player2Type;
         return new Game(
@@ -83,4 +164,46 @@ public class GameFactory {
                 canSecondPlayerMakeFirstMove
         );
     }
+
+    /**
+     * The computer thinks on the user's time, while the user chooses the move
+     */
+    private Move createComputerMove(final Level computerLevel, final PlayerType opponentType) {
+        final ComputerMoveStrategy[] strategies = computerLevel.getStrategies(threadCount, openingBook, evaluationCache);
+        if (opponentType == USER) {
+            return new PonderingComputerMove(strategies, delayInMillis, thinkTimeInMillis);
+        } else {
+            return new ComputerMove(strategies, delayInMillis, thinkTimeInMillis);
+        }
+    }
+
+    public Tournament createTournament() {
+        if (player1Type == USER || player2Type == USER) {
+            throw new IllegalArgumentException(
+                    "Headless mode supports COMPUTER vs COMPUTER games only: use 'computer computer games=${GAME_COUNT}'!"
+            );
+        }
+        return new Tournament(
+                size, level, player2Level, threadCount, thinkTimeInMillis, openingBook, evaluationCache, gameCount,
+                new ConsoleSummaryDataPrinter()
+        );
+    }
+
+    /**
+     * The game is played in the console, because the unbounded game table does not fit the window.
+     * The levels, the size and the search options are not used: the computer moves are made by one-ply search
+     */
+    public InfiniteGame createInfiniteGame() {
+        return new InfiniteGame(player1Type, player2Type, delayInMillis);
+    }
+
+    /**
+     * The clients play USER vs COMPUTER games, the computer uses the level of the second player
+     */
+    public GameServer createGameServer() {
+        return new GameServer(
+                serverPort, size, player2Level, threadCount, thinkTimeInMillis, openingBook, evaluationCache,
+                new ConsoleSummaryDataPrinter()
+        );
+    }
 }
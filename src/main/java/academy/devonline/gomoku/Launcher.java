@@ -18,16 +18,38 @@
 package academy.devonline.gomoku;
 
 import academy.devonline.gomoku.component.Game;
+import academy.devonline.gomoku.component.server.GameServer;
+
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
+ * The GUI game runs in the dedicated game loop thread, so neither the main thread nor
+ * the event dispatch thread is blocked by the moves. The game server accepts the connections in the main thread.
+ * The infinite game is played in the console by the main thread.
+ *
  * @author devonline
  * @link http://devonline.academy/java
  */
 public final class Launcher {
 
-    public static void main(final String[] args) {
+    public static void main(final String[] args) throws IOException {
         final GameFactory gameFactory = new GameFactory(args);
-        final Game game = gameFactory.create();
-        game.play();
+        if (gameFactory.isServer()) {
+            try (GameServer gameServer = gameFactory.createGameServer()) {
+                gameServer.start();
+            }
+        } else if (gameFactory.isInfinite()) {
+            gameFactory.createInfiniteGame().play();
+        } else if (gameFactory.isHeadless()) {
+            gameFactory.createTournament().play();
+        } else {
+            final Game game = gameFactory.create();
+            final ExecutorService gameLoop =
+                    Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "game-loop"));
+            gameLoop.execute(game::play);
+            gameLoop.shutdown();
+        }
     }
 }
@@ -17,7 +17,6 @@
 
 package academy.devonline.gomoku.component;
 
-import academy.devonline.gomoku.model.game.Cell;
 import academy.devonline.gomoku.model.game.GameTable;
 
 /**
@@ -27,13 +26,6 @@ import academy.devonline.gomoku.model.game.GameTable;
 public class CellVerifier {
 
     public boolean allCellsFilled(final GameTable gameTable) {
-        for (int i = 0; i < gameTable.getSize(); i++) {
-            for (int j = 0; j < gameTable.getSize(); j++) {
-                if (gameTable.isEmpty(new Cell(i, j))) {
-                    return false;
-                }
-            }
-        }
-        return true;
+        return gameTable.getEmptyCellCount() == 0;
     }
 }
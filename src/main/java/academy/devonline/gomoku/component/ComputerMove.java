@@ -23,6 +23,9 @@ import academy.devonline.gomoku.model.game.Sign;
 import java.util.concurrent.TimeUnit;
 
 /**
+ * If the think time is defined, the strategies, which implement {@link TimeLimitedComputerMoveStrategy}, share
+ * the deadline calculated at the beginning of the move, so the move is made within the think time.
+ *
  * @author devonline
  * @link http://devonline.academy/java
  */
@@ -32,23 +35,37 @@ public class ComputerMove implements Move {
 
     private final long delayInMillis;
 
+    private final long thinkTimeInMillis;
+
     public ComputerMove(final ComputerMoveStrategy[] strategies,
                         final long delayInMillis) {
+        this(strategies, delayInMillis, 0);
+    }
+
+    /**
+     * @param thinkTimeInMillis the max time to choose the move or 0 if the strategies are not limited by time
+     */
+    public ComputerMove(final ComputerMoveStrategy[] strategies,
+                        final long delayInMillis,
+                        final long thinkTimeInMillis) {
         this.strategies = strategies;
         this.delayInMillis = delayInMillis;
+        this.thinkTimeInMillis = thinkTimeInMillis;
     }
 
     @Override
     public void make(final GameTable gameTable, final Sign sign) {
+        think(gameTable, sign);
+        delay();
+    }
+
+    /**
+     * Makes the move chosen by the first successful strategy without the delay
+     */
+    protected void think(final GameTable gameTable, final Sign sign) {
+        final long deadlineInNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(thinkTimeInMillis);
         for (final ComputerMoveStrategy strategy : strategies) {
-            if (strategy.tryToMakeMove(gameTable, sign)) {
-                if (delayInMillis > 0) {
-                    try {
-                        TimeUnit.MILLISECONDS.sleep(delayInMillis);
-                    } catch (final InterruptedException exception) {
-                        exception.printStackTrace();
-                    }
-                }
+            if (tryToMakeMove(strategy, gameTable, sign, deadlineInNanos)) {
                 return;
             }
         }
@@ -56,4 +73,25 @@ public class ComputerMove implements Move {
                 "Game table does not contain empty cells or invalid configuration for the computer move strategies!"
         );
     }
+
+    protected void delay() {
+        if (delayInMillis > 0) {
+            try {
+                TimeUnit.MILLISECONDS.sleep(delayInMillis);
+            } catch (final InterruptedException exception) {
+                exception.printStackTrace();
+            }
+        }
+    }
+
+    private boolean tryToMakeMove(final ComputerMoveStrategy strategy,
+                                  final GameTable gameTable,
+                                  final Sign sign,
+                                  final long deadlineInNanos) {
+        if (thinkTimeInMillis > 0 && strategy instanceof TimeLimitedComputerMoveStrategy) {
+            return ((TimeLimitedComputerMoveStrategy) strategy).tryToMakeMove(gameTable, sign, deadlineInNanos);
+        } else {
+            return strategy.tryToMakeMove(gameTable, sign);
+        }
+    }
 }
@@ -19,6 +19,7 @@ package academy.devonline.gomoku.component;
 
 import academy.devonline.gomoku.model.game.GameTable;
 import academy.devonline.gomoku.model.game.Player;
+import academy.devonline.gomoku.model.game.Sign;
 
 import java.util.Random;
 
@@ -66,7 +67,10 @@ public class Game {
         }
     }
 
-    private void playNewGame() {
+    /**
+     * @return the sign of the winner or {@link Sign#EMPTY} if the game ended in a draw
+     */
+    public Sign playNewGame() {
         final GameTable gameTable = new GameTable(size);
         dataPrinter.printGameTable(gameTable);
         if (canSecondPlayerMakeFirstMove && new Random().nextBoolean()) {
@@ -80,11 +84,11 @@ public class Game {
                 dataPrinter.printGameTable(gameTable);
                 if (winnerVerifier.isWinner(gameTable, player)) {
                     dataPrinter.printInfoMessage(player + " WIN!");
-                    return;
+                    return player.getSign();
                 }
                 if (cellVerifier.allCellsFilled(gameTable)) {
                     dataPrinter.printInfoMessage("Sorry, DRAW!");
-                    return;
+                    return Sign.EMPTY;
                 }
             }
         }
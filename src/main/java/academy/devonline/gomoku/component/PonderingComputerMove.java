@@ -0,0 +1,204 @@
+/*
+ * Copyright (c) 2019. http://devonline.academy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package academy.devonline.gomoku.component;
+
+import academy.devonline.gomoku.model.game.GameTable;
+import academy.devonline.gomoku.model.game.Sign;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static academy.devonline.gomoku.model.game.GameTable.NO_CELL;
+
+/**
+ * Thinks on the opponent's time: after the move the background thread predicts the opponent's reply using
+ * the same strategies and chooses the answer to the predicted reply. If the opponent makes the predicted reply
+ * (ponder hit), the answer is made as soon as pondering ends, so the move takes at most the remaining part of
+ * the answer search. Otherwise (ponder miss or the reply is not predicted yet) pondering is cancelled by
+ * the interruption of the background thread and the move is chosen as usual, reusing the transposition tables
+ * warmed by pondering.
+ * <p>
+ * The strategies are not thread-safe, so the cancelled pondering is awaited before the search, but the searches
+ * check the interruption once per several hundred nodes or playouts, so it stops almost immediately.
+ *
+ * @author devonline
+ * @link http://devonline.academy/java
+ */
+public class PonderingComputerMove extends ComputerMove {
+
+    private final ExecutorService executorService = Executors.newSingleThreadExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "pondering");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final AtomicLong moveCount = new AtomicLong();
+
+    private final AtomicLong ponderCount = new AtomicLong();
+
+    private final AtomicLong ponderHitCount = new AtomicLong();
+
+    private GameTable ponderGameTable;
+
+    private Future<Integer> ponder;
+
+    /**
+     * The position after the predicted reply or null if the reply is not predicted yet
+     */
+    private volatile Prediction prediction;
+
+    public PonderingComputerMove(final ComputerMoveStrategy[] strategies,
+                                 final long delayInMillis,
+                                 final long thinkTimeInMillis) {
+        super(strategies, delayInMillis, thinkTimeInMillis);
+    }
+
+    @Override
+    public void make(final GameTable gameTable, final Sign sign) {
+        final int ponderMove = awaitPonder(gameTable);
+        if (ponderMove != NO_CELL) {
+            gameTable.setSign(ponderMove, sign);
+            ponderHitCount.incrementAndGet();
+        } else {
+            think(gameTable, sign);
+        }
+        moveCount.incrementAndGet();
+        startPonder(gameTable, sign);
+        delay();
+    }
+
+    /**
+     * @return the answer to the opponent's reply if it is predicted or {@link GameTable#NO_CELL} if pondering is
+     * cancelled
+     */
+    private int awaitPonder(final GameTable gameTable) {
+        if (ponder == null) {
+            return NO_CELL;
+        }
+        try {
+            final Prediction current = prediction;
+            if (current != null && current.isReached(gameTable)) {
+                final Integer move = ponder.get();
+                return move != null && gameTable.isEmpty(move) ? move : NO_CELL;
+            } else {
+                cancelPonder();
+                return NO_CELL;
+            }
+        } catch (final InterruptedException exception) {
+            ponder.cancel(true);
+            Thread.currentThread().interrupt();
+            return NO_CELL;
+        } catch (final ExecutionException exception) {
+            exception.printStackTrace();
+            return NO_CELL;
+        } finally {
+            ponder = null;
+            prediction = null;
+        }
+    }
+
+    private void cancelPonder() throws InterruptedException, ExecutionException {
+        ponder.cancel(true);
+        // the executor has the single thread, so the empty task is started after the cancelled pondering returns
+        executorService.submit(() -> {
+        }).get();
+    }
+
+    private void startPonder(final GameTable gameTable, final Sign sign) {
+        if (gameTable.hasWinCombination(sign) || gameTable.getEmptyCellCount() == 0) {
+            return;
+        }
+        final GameTable.Snapshot snapshot = gameTable.snapshot();
+        ponderCount.incrementAndGet();
+        ponder = executorService.submit(() -> ponder(snapshot, sign));
+    }
+
+    /**
+     * @return the answer to the predicted reply or null if the game is over after the reply or pondering
+     * is cancelled
+     */
+    private Integer ponder(final GameTable.Snapshot snapshot, final Sign sign) {
+        if (ponderGameTable == null || ponderGameTable.getSize() != snapshot.getSize()) {
+            ponderGameTable = new GameTable(snapshot.getSize());
+        }
+        ponderGameTable.restore(snapshot);
+        final Sign opponentSign = sign.oppositeSign();
+        think(ponderGameTable, opponentSign);
+        if (Thread.currentThread().isInterrupted() ||
+                ponderGameTable.hasWinCombination(opponentSign) || ponderGameTable.getEmptyCellCount() == 0) {
+            return null;
+        }
+        prediction = new Prediction(ponderGameTable.getMoveCount(), ponderGameTable.getHash());
+        think(ponderGameTable, sign);
+        return Thread.currentThread().isInterrupted() ? null : ponderGameTable.getLastMove();
+    }
+
+    public long getMoveCount() {
+        return moveCount.get();
+    }
+
+    public long getPonderCount() {
+        return ponderCount.get();
+    }
+
+    public long getPonderHitCount() {
+        return ponderHitCount.get();
+    }
+
+    /**
+     * @return the part of the pondered positions, which were reached by the opponent's reply
+     */
+    public double getPonderHitRate() {
+        final long count = ponderCount.get();
+        return count > 0 ? ponderHitCount.get() / (double) count : 0;
+    }
+
+    @Override
+    public String toString() {
+        return "PonderingComputerMove{" +
+                "moveCount=" + getMoveCount() +
+                ", ponderCount=" + getPonderCount() +
+                ", ponderHitCount=" + getPonderHitCount() +
+                ", ponderHitRate=" + getPonderHitRate() +
+                '}';
+    }
+
+    /**
+     * @author devonline
+     * @link http://devonline.academy/java
+     */
+    private static final class Prediction {
+
+        private final int expectedMoveCount;
+
+        private final long expectedHash;
+
+        private Prediction(final int expectedMoveCount, final long expectedHash) {
+            this.expectedMoveCount = expectedMoveCount;
+            this.expectedHash = expectedHash;
+        }
+
+        private boolean isReached(final GameTable gameTable) {
+            return gameTable.getMoveCount() == expectedMoveCount &&
+                    gameTable.getHash() == expectedHash;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright (c) 2019. http://devonline.academy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package academy.devonline.gomoku.component;
+
+import academy.devonline.gomoku.model.game.GameTable;
+import academy.devonline.gomoku.model.game.Sign;
+
+/**
+ * The strategy, which is able to limit its thinking by the deadline.
+ *
+ * @author devonline
+ * @link http://devonline.academy/java
+ */
+public interface TimeLimitedComputerMoveStrategy extends ComputerMoveStrategy {
+
+    /**
+     * @param deadlineInNanos the {@link System#nanoTime()} value, when the strategy must make the move
+     *                        or return false
+     */
+    boolean tryToMakeMove(GameTable gameTable, Sign sign, long deadlineInNanos);
+}
@@ -17,13 +17,19 @@
 
 package academy.devonline.gomoku.component;
 
-import academy.devonline.gomoku.model.game.Cell;
-
 /**
  * @author devonline
  * @link http://devonline.academy/java
  */
 public interface UserInputReader {
 
-    Cell getUserInput();
+    /**
+     * The user input, which requests to take back the last move of the user
+     */
+    int UNDO = -2;
+
+    /**
+     * @return the cell index ({@code row * size + col}) of the cell selected by the user or {@link #UNDO}
+     */
+    int getUserInput();
 }
@@ -17,10 +17,11 @@
 
 package academy.devonline.gomoku.component;
 
-import academy.devonline.gomoku.model.game.Cell;
 import academy.devonline.gomoku.model.game.GameTable;
 import academy.devonline.gomoku.model.game.Sign;
 
+import static academy.devonline.gomoku.component.UserInputReader.UNDO;
+
 /**
  * @author devonline
  * @link http://devonline.academy/java
@@ -40,8 +41,10 @@ public class UserMove implements Move {
     @Override
     public void make(final GameTable gameTable, final Sign sign) {
         while (true) {
-            final Cell cell = userInputReader.getUserInput();
-            if (gameTable.isEmpty(cell)) {
+            final int cell = userInputReader.getUserInput();
+            if (cell == UNDO) {
+                undo(gameTable, sign);
+            } else if (gameTable.isEmpty(cell)) {
                 gameTable.setSign(cell, sign);
                 return;
             } else {
@@ -49,4 +52,22 @@ public class UserMove implements Move {
             }
         }
     }
+
+    /**
+     * Unmakes the moves up to the last move of the specified sign inclusive, so the user can make this move again
+     */
+    private void undo(final GameTable gameTable, final Sign sign) {
+        int index = gameTable.getMoveCount() - 1;
+        while (index >= 0 && gameTable.getSign(gameTable.getMove(index)) != sign) {
+            index--;
+        }
+        if (index < 0) {
+            dataPrinter.printErrorMessage("Can't undo, because there are no moves to take back! Make a move");
+            return;
+        }
+        while (gameTable.getMoveCount() > index) {
+            gameTable.unmakeMove();
+        }
+        dataPrinter.printGameTable(gameTable);
+    }
 }
@@ -17,71 +17,27 @@
 
 package academy.devonline.gomoku.component;
 
-import academy.devonline.gomoku.model.game.Cell;
 import academy.devonline.gomoku.model.game.GameTable;
 import academy.devonline.gomoku.model.game.Player;
 import academy.devonline.gomoku.model.game.Sign;
 
-import static academy.devonline.gomoku.Constants.WIN_COMBINATION_SIZE;
+import static academy.devonline.gomoku.model.game.GameTable.NO_CELL;
 
 /**
+ * Verifies only four lines through the last move, because a new win combination can't appear anywhere else.
+ *
  * @author devonline
  * @link http://devonline.academy/java
  */
 public class WinnerVerifier {
 
     public boolean isWinner(final GameTable gameTable, final Player player) {
-        return isWinnerByRows(gameTable, player.getSign()) ||
-                isWinnerByCols(gameTable, player.getSign()) ||
-                isWinnerByMainDiagonal(gameTable, player.getSign()) ||
-                isWinnerBySecondaryDiagonal(gameTable, player.getSign());
-    }
-
-    private boolean isWinnerByRows(final GameTable gameTable, final Sign sign) {
-        return isWinnerUsingLambda(gameTable, sign, (i, j, k) -> new Cell(i, j + k));
-    }
-
-    private boolean isWinnerByCols(final GameTable gameTable, final Sign sign) {
-        return isWinnerUsingLambda(gameTable, sign, (i, j, k) -> new Cell(i + k, j));
-    }
-
-    private boolean isWinnerByMainDiagonal(final GameTable gameTable, final Sign sign) {
-        return isWinnerUsingLambda(gameTable, sign, (i, j, k) -> new Cell(i + k, j + k));
-    }
-
-    private boolean isWinnerBySecondaryDiagonal(final GameTable gameTable, final Sign sign) {
-        return isWinnerUsingLambda(gameTable, sign, (i, j, k) -> new Cell(i + k, j - k));
-    }
-
-    private boolean isWinnerUsingLambda(final GameTable gameTable, final Sign sign, final Lambda lambda) {
-        for (int i = 0; i < gameTable.getSize(); i++) {
-            for (int j = 0; j < gameTable.getSize(); j++) {
-                int filledCellCount = 0;
-                for (int k = 0; k < WIN_COMBINATION_SIZE; k++) {
-                    final Cell cell = lambda.convert(i, j, k);
-                    if (gameTable.isValid(cell)) {
-                        if (gameTable.getSign(cell) == sign) {
-                            filledCellCount++;
-                        } else {
-                            break;
-                        }
-                    }
-                }
-                if (filledCellCount == WIN_COMBINATION_SIZE) {
-                    return true;
-                }
-            }
+        final Sign sign = player.getSign();
+        final int lastMove = gameTable.getLastMove();
+        if (lastMove != NO_CELL && gameTable.getSign(lastMove) == sign) {
+            return gameTable.hasWinCombination(lastMove, sign);
+        } else {
+            return gameTable.hasWinCombination(sign);
         }
-        return false;
-    }
-
-    /**
-     * @author devonline
-     * @link http://devonline.academy/java
-     */
-    @FunctionalInterface
-    private interface Lambda {
-
-        Cell convert(int i, int j, int k);
     }
 }
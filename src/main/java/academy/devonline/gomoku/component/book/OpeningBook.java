@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2019. http://devonline.academy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package academy.devonline.gomoku.component.book;
+
+import academy.devonline.gomoku.model.game.GameTable;
+import academy.devonline.gomoku.model.game.Sign;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static academy.devonline.gomoku.model.game.GameTable.NO_CELL;
+
+/**
+ * Read-only opening book memory-mapped from the file, so the book is not loaded to the heap and the pages
+ * are shared between the processes by the operating system.
+ * <p>
+ * The file format (big-endian):
+ * <pre>
+ * header: int MAGIC, int VERSION, long entryCount
+ * entry:  long key, int move, int weight
+ * </pre>
+ * The entries are sorted by key, so the moves of the position are probed by the binary search.
+ * The same key can have several entries with different moves: the move with the max weight is chosen.
+ * The key is the {@link GameTable#getHash() Zobrist hash} of the position, which includes the game table size,
+ * combined with the sign to move (see {@link #getKey(GameTable, Sign)}).
+ * <p>
+ * A mapped buffer can't be larger than 2 GB, so the file is mapped by segments.
+ *
+ * @author devonline
+ * @link http://devonline.academy/java
+ */
+public final class OpeningBook {
+
+    public static final int MAGIC = 0x474D4B42;
+
+    public static final int VERSION = 1;
+
+    public static final int HEADER_SIZE = 16;
+
+    public static final int ENTRY_SIZE = 16;
+
+    private static final int SEGMENT_ENTRY_COUNT_BITS = 26;
+
+    private static final long SEGMENT_ENTRY_COUNT = 1L << SEGMENT_ENTRY_COUNT_BITS;
+
+    private static final long O_TO_MOVE_KEY = 0x5A17E6B2C9D1F3A5L;
+
+    private final MappedByteBuffer[] segments;
+
+    private final long entryCount;
+
+    private OpeningBook(final MappedByteBuffer[] segments, final long entryCount) {
+        this.segments = segments;
+        this.entryCount = entryCount;
+    }
+
+    /**
+     * @throws IOException if the file can't be read or is not an opening book
+     */
+    public static OpeningBook open(final Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+                // read the header completely
+            }
+            header.flip();
+            if (header.remaining() < HEADER_SIZE || header.getInt() != MAGIC || header.getInt() != VERSION) {
+                throw new IOException("Invalid opening book file: " + path);
+            }
+            final long entryCount = header.getLong();
+            if (entryCount < 0 || channel.size() < HEADER_SIZE + entryCount * ENTRY_SIZE) {
+                throw new IOException("Truncated opening book file: " + path);
+            }
+            final int segmentCount = (int) ((entryCount + SEGMENT_ENTRY_COUNT - 1) / SEGMENT_ENTRY_COUNT);
+            final MappedByteBuffer[] segments = new MappedByteBuffer[segmentCount];
+            for (int i = 0; i < segmentCount; i++) {
+                final long first = i * SEGMENT_ENTRY_COUNT;
+                final long count = Math.min(SEGMENT_ENTRY_COUNT, entryCount - first);
+                segments[i] = channel.map(
+                        FileChannel.MapMode.READ_ONLY, HEADER_SIZE + first * ENTRY_SIZE, count * ENTRY_SIZE
+                );
+            }
+            return new OpeningBook(segments, entryCount);
+        }
+    }
+
+    /**
+     * @return the book key of the position, where the specified sign must make the move
+     */
+    public static long getKey(final GameTable gameTable, final Sign sign) {
+        return sign == Sign.O ? gameTable.getHash() ^ O_TO_MOVE_KEY : gameTable.getHash();
+    }
+
+    /**
+     * @return the book move with the max weight or {@link GameTable#NO_CELL} if the position is out of book
+     */
+    public int findMove(final GameTable gameTable, final Sign sign) {
+        return findMove(getKey(gameTable, sign));
+    }
+
+    /**
+     * @return the book move with the max weight or {@link GameTable#NO_CELL} if the key is not found
+     */
+    public int findMove(final long key) {
+        long low = 0;
+        long high = entryCount;
+        while (low < high) {
+            final long middle = (low + high) >>> 1;
+            if (getEntryKey(middle) < key) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        int bestMove = NO_CELL;
+        int bestWeight = Integer.MIN_VALUE;
+        for (long index = low; index < entryCount && getEntryKey(index) == key; index++) {
+            final int weight = getEntryInt(index, Long.BYTES + Integer.BYTES);
+            if (weight > bestWeight) {
+                bestWeight = weight;
+                bestMove = getEntryInt(index, Long.BYTES);
+            }
+        }
+        return bestMove;
+    }
+
+    public long getEntryCount() {
+        return entryCount;
+    }
+
+    private long getEntryKey(final long index) {
+        return getSegment(index).getLong(getOffset(index));
+    }
+
+    private int getEntryInt(final long index, final int fieldOffset) {
+        return getSegment(index).getInt(getOffset(index) + fieldOffset);
+    }
+
+    private MappedByteBuffer getSegment(final long index) {
+        return segments[(int) (index >>> SEGMENT_ENTRY_COUNT_BITS)];
+    }
+
+    private static int getOffset(final long index) {
+        return (int) (index & (SEGMENT_ENTRY_COUNT - 1)) * ENTRY_SIZE;
+    }
+}
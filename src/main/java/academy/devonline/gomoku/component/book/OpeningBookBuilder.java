@@ -0,0 +1,187 @@
+/*
+ * Copyright (c) 2019. http://devonline.academy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package academy.devonline.gomoku.component.book;
+
+import academy.devonline.gomoku.component.CellVerifier;
+import academy.devonline.gomoku.component.ComputerMove;
+import academy.devonline.gomoku.component.ComputerMoveStrategy;
+import academy.devonline.gomoku.component.WinnerVerifier;
+import academy.devonline.gomoku.component.strategy.FirstMoveToTheCenterComputerMoveStrategy;
+import academy.devonline.gomoku.component.strategy.RandomComputerMoveStrategy;
+import academy.devonline.gomoku.model.config.Level;
+import academy.devonline.gomoku.model.config.Size;
+import academy.devonline.gomoku.model.game.GameTable;
+import academy.devonline.gomoku.model.game.Player;
+import academy.devonline.gomoku.model.game.Sign;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+
+import static academy.devonline.gomoku.model.game.Sign.O;
+import static academy.devonline.gomoku.model.game.Sign.X;
+
+/**
+ * Builds the {@link OpeningBook} from the self-play games of the specified level:
+ * <pre>
+ * java -cp target/classes academy.devonline.gomoku.component.book.OpeningBookBuilder level3 size15 1000 book.bin
+ * </pre>
+ * The arguments: level, game table size, game count, book file and optional count of book plies (default 12).
+ * <p>
+ * The first move of each game is made to the center and the next {@code RANDOM_PLY_COUNT - 1} moves are random,
+ * so the games are different. The moves made by the level after the random plies and before the book ply count
+ * are added to the book. The move weight is the sum of the game results for the player, who made the move:
+ * {@code WIN_WEIGHT} for the win, {@code DRAW_WEIGHT} for the draw and 0 for the loss.
+ *
+ * @author devonline
+ * @link http://devonline.academy/java
+ */
+public final class OpeningBookBuilder {
+
+    private static final int DEFAULT_BOOK_PLY_COUNT = 12;
+
+    private static final int RANDOM_PLY_COUNT = 3;
+
+    private static final int WIN_WEIGHT = 2;
+
+    private static final int DRAW_WEIGHT = 1;
+
+    /**
+     * {@code weights.get(key).get(move)}
+     */
+    private final Map<Long, Map<Integer, Integer>> weights = new HashMap<>();
+
+    private final int bookPlyCount;
+
+    private long entryCount;
+
+    public OpeningBookBuilder(final int bookPlyCount) {
+        this.bookPlyCount = bookPlyCount;
+    }
+
+    public static void main(final String[] args) throws IOException {
+        if (args.length < 4) {
+            System.err.println(
+                    "Usage: OpeningBookBuilder ${LEVEL} ${SIZE} ${GAME_COUNT} ${BOOK_FILE} [${BOOK_PLY_COUNT}]"
+            );
+            return;
+        }
+        final Level level = Level.valueOf(args[0].toUpperCase());
+        final int size = Size.valueOf(args[1].toUpperCase()).intValue();
+        final int gameCount = Integer.parseInt(args[2]);
+        final Path path = Paths.get(args[3]);
+        final int bookPlyCount = args.length > 4 ? Integer.parseInt(args[4]) : DEFAULT_BOOK_PLY_COUNT;
+        final OpeningBookBuilder builder = new OpeningBookBuilder(bookPlyCount);
+        final long start = System.nanoTime();
+        builder.playSelfPlayGames(level, size, gameCount);
+        builder.write(path);
+        System.out.printf("Played %s games in %.2f s, written %s entries to %s%n",
+                gameCount, (System.nanoTime() - start) / 1_000_000_000.0, builder.getEntryCount(), path);
+    }
+
+    public void playSelfPlayGames(final Level level, final int size, final int gameCount) {
+        final ComputerMove levelMove = new ComputerMove(level.getStrategies(), 0);
+        final ComputerMove firstMove = new ComputerMove(
+                new ComputerMoveStrategy[]{new FirstMoveToTheCenterComputerMoveStrategy()}, 0
+        );
+        final ComputerMove randomMove = new ComputerMove(
+                new ComputerMoveStrategy[]{new RandomComputerMoveStrategy()}, 0
+        );
+        final WinnerVerifier winnerVerifier = new WinnerVerifier();
+        final CellVerifier cellVerifier = new CellVerifier();
+        for (int game = 0; game < gameCount; game++) {
+            final GameTable gameTable = new GameTable(size);
+            Sign winner = Sign.EMPTY;
+            for (int ply = 0; ; ply++) {
+                final Sign sign = ply % 2 == 0 ? X : O;
+                final Player player = new Player(
+                        sign, ply == 0 ? firstMove : ply < RANDOM_PLY_COUNT ? randomMove : levelMove
+                );
+                player.makeMove(gameTable);
+                if (winnerVerifier.isWinner(gameTable, player)) {
+                    winner = sign;
+                    break;
+                }
+                if (cellVerifier.allCellsFilled(gameTable)) {
+                    break;
+                }
+            }
+            addGame(gameTable, winner);
+        }
+    }
+
+    /**
+     * Adds the level moves of the finished game to the book
+     *
+     * @param winner the sign of the winner or {@link Sign#EMPTY} if the game ended in a draw
+     */
+    public void addGame(final GameTable finishedGameTable, final Sign winner) {
+        final GameTable gameTable = new GameTable(finishedGameTable.getSize());
+        final int plyCount = Math.min(bookPlyCount, finishedGameTable.getMoveCount());
+        for (int ply = 0; ply < plyCount; ply++) {
+            final int move = finishedGameTable.getMove(ply);
+            final Sign sign = finishedGameTable.getSign(move);
+            if (ply >= RANDOM_PLY_COUNT) {
+                final int weight = winner == sign ? WIN_WEIGHT : winner == Sign.EMPTY ? DRAW_WEIGHT : 0;
+                final Map<Integer, Integer> moveWeights =
+                        weights.computeIfAbsent(OpeningBook.getKey(gameTable, sign), key -> new HashMap<>());
+                moveWeights.merge(move, weight, Integer::sum);
+            }
+            gameTable.makeMove(move, sign);
+        }
+    }
+
+    /**
+     * Writes the entries with the positive weight sorted by key to the file in the {@link OpeningBook} format,
+     * so the moves, which only lost, are not played from the book
+     */
+    public void write(final Path path) throws IOException {
+        final long[] keys = weights.keySet().stream().mapToLong(Long::longValue).sorted().toArray();
+        entryCount = 0;
+        for (final Map<Integer, Integer> moveWeights : weights.values()) {
+            entryCount += moveWeights.values().stream().filter(weight -> weight > 0).count();
+        }
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)))) {
+            out.writeInt(OpeningBook.MAGIC);
+            out.writeInt(OpeningBook.VERSION);
+            out.writeLong(entryCount);
+            for (final long key : keys) {
+                for (final Map.Entry<Integer, Integer> entry : weights.get(key).entrySet()) {
+                    if (entry.getValue() == 0) {
+                        continue;
+                    }
+                    out.writeLong(key);
+                    out.writeInt(entry.getKey());
+                    out.writeInt(entry.getValue());
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the count of entries written by the last {@link #write(Path)} invocation
+     */
+    public long getEntryCount() {
+        return entryCount;
+    }
+}
@@ -21,12 +21,22 @@ import academy.devonline.gomoku.model.config.Level;
 import academy.devonline.gomoku.model.config.PlayerType;
 import academy.devonline.gomoku.model.config.Size;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import static academy.devonline.gomoku.Constants.BOOK_PREFIX;
+import static academy.devonline.gomoku.Constants.CACHE_PREFIX;
 import static academy.devonline.gomoku.Constants.DEFAULT_DELAY_IN_MILLIS;
 import static academy.devonline.gomoku.Constants.DEFAULT_LEVEL;
 import static academy.devonline.gomoku.Constants.DEFAULT_SIZE;
+import static academy.devonline.gomoku.Constants.DEFAULT_THREAD_COUNT;
 import static academy.devonline.gomoku.Constants.DELAY_PREFIX;
-import static academy.devonline.gomoku.model.config.Level.LEVEL1;
-import static academy.devonline.gomoku.model.config.Level.LEVEL2;
+import static academy.devonline.gomoku.Constants.GAMES_PREFIX;
+import static academy.devonline.gomoku.Constants.INFINITE;
+import static academy.devonline.gomoku.Constants.SERVER_PREFIX;
+import static academy.devonline.gomoku.Constants.THINK_PREFIX;
+import static academy.devonline.gomoku.Constants.THREADS_PREFIX;
 import static academy.devonline.gomoku.model.config.PlayerType.COMPUTER;
 import static academy.devonline.gomoku.model.config.PlayerType.USER;
 
@@ -38,6 +48,16 @@ public class CommandLineArgumentParser {
 
     private static final long DEFAULT_DELAY_IN_MILLIS_NOT_DEFINED = -1;
 
+    private static final int THREAD_COUNT_NOT_DEFINED = -1;
+
+    private static final int GAME_COUNT_NOT_DEFINED = 0;
+
+    private static final int THINK_TIME_NOT_DEFINED = 0;
+
+    private static final int SERVER_PORT_NOT_DEFINED = 0;
+
+    private static final int MAX_PORT = 0xFFFF;
+
     private final String[] args;
 
     public CommandLineArgumentParser(final String[] args) {
@@ -48,8 +68,16 @@ public class CommandLineArgumentParser {
         PlayerType player1Type = null;
         PlayerType player2Type = null;
         Level level = null;
+        Level player2Level = null;
         Size size = null;
         long delayInMillis = DEFAULT_DELAY_IN_MILLIS_NOT_DEFINED;
+        int threadCount = THREAD_COUNT_NOT_DEFINED;
+        int gameCount = GAME_COUNT_NOT_DEFINED;
+        int thinkTimeInMillis = THINK_TIME_NOT_DEFINED;
+        Path bookPath = null;
+        Path cachePath = null;
+        int serverPort = SERVER_PORT_NOT_DEFINED;
+        boolean infinite = false;
         for (final String arg : args) {
             final String normalizedArg = arg.toUpperCase();
             if (USER.name().equals(normalizedArg) || COMPUTER.name().equals(normalizedArg)) {
@@ -63,14 +91,15 @@ public class CommandLineArgumentParser {
                             arg, player1Type, player2Type
                     );
                 }
-            } else if (LEVEL1.name().equals(normalizedArg) ||
-                    LEVEL2.name().equals(normalizedArg)) {
+            } else if (isLevelArg(normalizedArg)) {
                 if (level == null) {
                     level = Level.valueOf(normalizedArg);
+                } else if (player2Level == null) {
+                    player2Level = Level.valueOf(normalizedArg);
                 } else {
                     System.err.printf(
-                            "Invalid command line argument: '%s', because level already set: '%s'!%n",
-                            arg, level
+                            "Invalid command line argument: '%s', because levels already set: level='%s', player2Level='%s'!%n",
+                            arg, level, player2Level
                     );
                 }
             } else if (isSizeArg(normalizedArg)) {
@@ -91,6 +120,75 @@ public class CommandLineArgumentParser {
                             arg, delayInMillis
                     );
                 }
+            } else if (normalizedArg.startsWith(THREADS_PREFIX)) {
+                if (threadCount == THREAD_COUNT_NOT_DEFINED) {
+                    threadCount = getPositiveIntValue(
+                            arg, "threads=${THREAD_COUNT}", "thread count", DEFAULT_THREAD_COUNT
+                    );
+                } else {
+                    System.err.printf(
+                            "Invalid command line argument: '%s', because thread count already set: '%s'!%n",
+                            arg, threadCount
+                    );
+                }
+            } else if (normalizedArg.startsWith(GAMES_PREFIX)) {
+                if (gameCount == GAME_COUNT_NOT_DEFINED) {
+                    gameCount = getPositiveIntValue(
+                            arg, "games=${GAME_COUNT}", "game count", GAME_COUNT_NOT_DEFINED
+                    );
+                } else {
+                    System.err.printf(
+                            "Invalid command line argument: '%s', because game count already set: '%s'!%n",
+                            arg, gameCount
+                    );
+                }
+            } else if (normalizedArg.startsWith(THINK_PREFIX)) {
+                if (thinkTimeInMillis == THINK_TIME_NOT_DEFINED) {
+                    thinkTimeInMillis = getPositiveIntValue(
+                            arg, "think=${THINK_TIME_IN_MILLIS}", "think time", THINK_TIME_NOT_DEFINED
+                    );
+                } else {
+                    System.err.printf(
+                            "Invalid command line argument: '%s', because think time already set: '%s'!%n",
+                            arg, thinkTimeInMillis
+                    );
+                }
+            } else if (normalizedArg.startsWith(BOOK_PREFIX)) {
+                if (bookPath == null) {
+                    bookPath = getBookPath(arg);
+                } else {
+                    System.err.printf(
+                            "Invalid command line argument: '%s', because opening book already set: '%s'!%n",
+                            arg, bookPath
+                    );
+                }
+            } else if (normalizedArg.startsWith(CACHE_PREFIX)) {
+                if (cachePath == null) {
+                    cachePath = getCachePath(arg);
+                } else {
+                    System.err.printf(
+                            "Invalid command line argument: '%s', because evaluation cache already set: '%s'!%n",
+                            arg, cachePath
+                    );
+                }
+            } else if (normalizedArg.startsWith(SERVER_PREFIX)) {
+                if (serverPort == SERVER_PORT_NOT_DEFINED) {
+                    serverPort = getServerPort(arg);
+                } else {
+                    System.err.printf(
+                            "Invalid command line argument: '%s', because server port already set: '%s'!%n",
+                            arg, serverPort
+                    );
+                }
+            } else if (INFINITE.equals(normalizedArg)) {
+                if (!infinite) {
+                    infinite = true;
+                } else {
+                    System.err.printf(
+                            "Invalid command line argument: '%s', because infinite mode already set!%n",
+                            arg
+                    );
+                }
             } else {
                 System.err.printf("Unsupported command line argument: '%s'%n", arg);
             }
@@ -98,15 +196,71 @@ public class CommandLineArgumentParser {
         if (level == null) {
             level = DEFAULT_LEVEL;
         }
+        if (player2Level == null) {
+            player2Level = level;
+        }
         if (size == null) {
             size = DEFAULT_SIZE;
         }
+        if (threadCount == THREAD_COUNT_NOT_DEFINED) {
+            threadCount = DEFAULT_THREAD_COUNT;
+        }
         if (player1Type == null) {
-            return new CommandLineArguments(USER, COMPUTER, level, size, delayInMillis);
+            return new CommandLineArguments(
+                    USER, COMPUTER, level, player2Level, size,
+                    delayInMillis, threadCount, gameCount, thinkTimeInMillis, bookPath, cachePath, serverPort,
+                    infinite
+            );
         } else if (player2Type == null) {
-            return new CommandLineArguments(USER, player1Type, level, size, delayInMillis);
+            return new CommandLineArguments(
+                    USER, player1Type, level, player2Level, size,
+                    delayInMillis, threadCount, gameCount, thinkTimeInMillis, bookPath, cachePath, serverPort,
+                    infinite
+            );
         } else {
-            return new CommandLineArguments(player1Type, player2Type, level, size, delayInMillis);
+            return new CommandLineArguments(
+                    player1Type, player2Type, level, player2Level, size,
+                    delayInMillis, threadCount, gameCount, thinkTimeInMillis, bookPath, cachePath, serverPort,
+                    infinite
+            );
+        }
+    }
+
+    private int getServerPort(final String arg) {
+        final int port = getPositiveIntValue(arg, "server=${PORT}", "port", SERVER_PORT_NOT_DEFINED);
+        if (port > MAX_PORT) {
+            System.err.printf(
+                    "Invalid command line argument: '%s', because port must be less than or equal to %s!%n",
+                    arg, MAX_PORT
+            );
+            return SERVER_PORT_NOT_DEFINED;
+        }
+        return port;
+    }
+
+    private Path getBookPath(final String arg) {
+        final Path path = Paths.get(arg.substring(BOOK_PREFIX.length()));
+        if (Files.isRegularFile(path)) {
+            return path;
+        } else {
+            System.err.printf(
+                    "Invalid command line argument: '%s', because it must be follow the next pattern: 'book=${BOOK_FILE}' and the file must exist!%n",
+                    arg
+            );
+            return null;
+        }
+    }
+
+    private Path getCachePath(final String arg) {
+        final Path path = Paths.get(arg.substring(CACHE_PREFIX.length())).toAbsolutePath();
+        if (!Files.isDirectory(path) && Files.isDirectory(path.getParent())) {
+            return path;
+        } else {
+            System.err.printf(
+                    "Invalid command line argument: '%s', because it must be follow the next pattern: 'cache=${CACHE_FILE}' and the parent directory must exist!%n",
+                    arg
+            );
+            return null;
         }
     }
 
@@ -138,6 +292,46 @@ public class CommandLineArgumentParser {
         }
     }
 
+    private int getPositiveIntValue(final String arg,
+                                    final String pattern,
+                                    final String valueName,
+                                    final int defaultValue) {
+        final String[] values = arg.split("=");
+        if (values.length != 2) {
+            System.err.printf(
+                    "Invalid command line argument: '%s', because it must be follow the next pattern: '%s'!%n",
+                    arg, pattern
+            );
+            return defaultValue;
+        }
+        try {
+            final int result = Integer.parseInt(values[1]);
+            if (result <= 0) {
+                System.err.printf(
+                        "Invalid command line argument: '%s', because %s must be positive!%n",
+                        arg, valueName
+                );
+                return defaultValue;
+            }
+            return result;
+        } catch (final NumberFormatException exception) {
+            System.err.printf(
+                    "Invalid command line argument: '%s', because %s must be an integer value!%n",
+                    arg, valueName
+            );
+            return defaultValue;
+        }
+    }
+
+    private boolean isLevelArg(final String normalizedArg) {
+        for (final Level value : Level.values()) {
+            if (value.name().equals(normalizedArg)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private boolean isSizeArg(final String normalizedArg) {
         for (final Size value : Size.values()) {
             if (value.name().equals(normalizedArg)) {
@@ -159,20 +353,52 @@ public class CommandLineArgumentParser {
 
         private final Level level;
 
+        private final Level player2Level;
+
         private final Size size;
 
         private final long delayInMillis;
 
+        private final int threadCount;
+
+        private final int gameCount;
+
+        private final int thinkTimeInMillis;
+
+        private final Path bookPath;
+
+        private final Path cachePath;
+
+        private final int serverPort;
+
+        private final boolean infinite;
+
         private CommandLineArguments(final PlayerType player1Type,
                                      final PlayerType player2Type,
                                      final Level level,
+                                     final Level player2Level,
                                      final Size size,
-                                     final long delayInMillis) {
+                                     final long delayInMillis,
+                                     final int threadCount,
+                                     final int gameCount,
+                                     final int thinkTimeInMillis,
+                                     final Path bookPath,
+                                     final Path cachePath,
+                                     final int serverPort,
+                                     final boolean infinite) {
             this.player1Type = player1Type;
             this.player2Type = player2Type;
             this.level = level;
+            this.player2Level = player2Level;
             this.size = size;
             this.delayInMillis = delayInMillis;
+            this.threadCount = threadCount;
+            this.gameCount = gameCount;
+            this.thinkTimeInMillis = thinkTimeInMillis;
+            this.bookPath = bookPath;
+            this.cachePath = cachePath;
+            this.serverPort = serverPort;
+            this.infinite = infinite;
         }
 
         public PlayerType getPlayer1Type() {
@@ -187,6 +413,14 @@ public class CommandLineArgumentParser {
             return level;
         }
 
+        /**
+         * @return the level of the second player if two levels are defined, otherwise the same level as
+         * {@link #getLevel()}
+         */
+        public Level getPlayer2Level() {
+            return player2Level;
+        }
+
         public Size getSize() {
             return size;
         }
@@ -194,5 +428,51 @@ public class CommandLineArgumentParser {
         public long getDelayInMillis() {
             return delayInMillis;
         }
+
+        public int getThreadCount() {
+            return threadCount;
+        }
+
+        /**
+         * @return the count of games for the headless mode or 0 if the game must be played using GUI
+         */
+        public int getGameCount() {
+            return gameCount;
+        }
+
+        /**
+         * @return the max time to choose the computer move or 0 if the computer strategies are not limited by time
+         */
+        public int getThinkTimeInMillis() {
+            return thinkTimeInMillis;
+        }
+
+        /**
+         * @return the opening book file or null if the opening book is not used
+         */
+        public Path getBookPath() {
+            return bookPath;
+        }
+
+        /**
+         * @return the evaluation cache file or null if the evaluation cache is not used
+         */
+        public Path getCachePath() {
+            return cachePath;
+        }
+
+        /**
+         * @return the port of the game server or 0 if the game must be played without the server
+         */
+        public int getServerPort() {
+            return serverPort;
+        }
+
+        /**
+         * @return true if the game must be played on the unbounded game table
+         */
+        public boolean isInfinite() {
+            return infinite;
+        }
     }
 }
@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2019. http://devonline.academy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package academy.devonline.gomoku.component.headless;
+
+import academy.devonline.gomoku.component.DataPrinter;
+import academy.devonline.gomoku.model.game.GameTable;
+
+/**
+ * Prints messages to the console and ignores the game table, so it is suitable for summaries of the headless games.
+ *
+ * @author devonline
+ * @link http://devonline.academy/java
+ */
+public class ConsoleSummaryDataPrinter implements DataPrinter {
+
+    @Override
+    public void printInstructions() {
+        System.out.println("Headless mode: COMPUTER vs COMPUTER games are played without GUI.");
+    }
+
+    @Override
+    public void printInfoMessage(final String message) {
+        System.out.println(message);
+    }
+
+    @Override
+    public void printErrorMessage(final String message) {
+        System.err.println(message);
+    }
+
+    @Override
+    public void printGameTable(final GameTable gameTable) {
+        // do nothing
+    }
+}
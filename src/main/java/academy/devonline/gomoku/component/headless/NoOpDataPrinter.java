@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2019. http://devonline.academy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package academy.devonline.gomoku.component.headless;
+
+import academy.devonline.gomoku.component.DataPrinter;
+import academy.devonline.gomoku.model.game.GameTable;
+
+/**
+ * Discards all game output, so the headless games do not spend time on rendering.
+ *
+ * @author devonline
+ * @link http://devonline.academy/java
+ */
+public class NoOpDataPrinter implements DataPrinter {
+
+    @Override
+    public void printInstructions() {
+        // do nothing
+    }
+
+    @Override
+    public void printInfoMessage(final String message) {
+        // do nothing
+    }
+
+    @Override
+    public void printErrorMessage(final String message) {
+        // do nothing
+    }
+
+    @Override
+    public void printGameTable(final GameTable gameTable) {
+        // do nothing
+    }
+}
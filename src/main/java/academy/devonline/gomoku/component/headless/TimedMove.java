@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2019. http://devonline.academy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package academy.devonline.gomoku.component.headless;
+
+import academy.devonline.gomoku.component.Move;
+import academy.devonline.gomoku.model.game.GameTable;
+import academy.devonline.gomoku.model.game.Sign;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Measures the latency of the decorated move. The counters can be shared between several games played concurrently.
+ *
+ * @author devonline
+ * @link http://devonline.academy/java
+ */
+public class TimedMove implements Move {
+
+    private final Move move;
+
+    private final LongAdder moveCount;
+
+    private final LongAdder moveTimeInNanos;
+
+    public TimedMove(final Move move,
+                     final LongAdder moveCount,
+                     final LongAdder moveTimeInNanos) {
+        this.move = move;
+        this.moveCount = moveCount;
+        this.moveTimeInNanos = moveTimeInNanos;
+    }
+
+    @Override
+    public void make(final GameTable gameTable, final Sign sign) {
+        final long startTime = System.nanoTime();
+        move.make(gameTable, sign);
+        moveTimeInNanos.add(System.nanoTime() - startTime);
+        moveCount.increment();
+    }
+}
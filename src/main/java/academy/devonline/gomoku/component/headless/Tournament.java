@@ -0,0 +1,241 @@
+/*
+ * Copyright (c) 2019. http://devonline.academy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package academy.devonline.gomoku.component.headless;
+
+import academy.devonline.gomoku.component.CellVerifier;
+import academy.devonline.gomoku.component.ComputerMove;
+import academy.devonline.gomoku.component.DataPrinter;
+import academy.devonline.gomoku.component.Game;
+import academy.devonline.gomoku.component.WinnerVerifier;
+import academy.devonline.gomoku.component.book.OpeningBook;
+import academy.devonline.gomoku.component.search.PersistentEvaluationCache;
+import academy.devonline.gomoku.model.config.Level;
+import academy.devonline.gomoku.model.game.Player;
+import academy.devonline.gomoku.model.game.Sign;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import static academy.devonline.gomoku.model.game.Sign.O;
+import static academy.devonline.gomoku.model.game.Sign.X;
+
+/**
+ * Plays the specified count of COMPUTER vs COMPUTER games concurrently without GUI.
+ * <p>
+ * Each worker thread owns its {@link Game} with its own strategy instances, so the workers do not share any
+ * mutable state except the statistics counters. The random first move of {@link Game} gives both levels
+ * the same chance to start a game.
+ *
+ * @author devonline
+ * @link http://devonline.academy/java
+ */
+public class Tournament {
+
+    private final int size;
+
+    private final Level player1Level;
+
+    private final Level player2Level;
+
+    private final int threadCount;
+
+    private final long thinkTimeInMillis;
+
+    private final OpeningBook openingBook;
+
+    private final PersistentEvaluationCache evaluationCache;
+
+    private final int gameCount;
+
+    private final int workerCount;
+
+    private final DataPrinter dataPrinter;
+
+    /**
+     * @param openingBook     the book shared by both levels or null
+     * @param evaluationCache the cache of the search results shared by both levels or null
+     */
+    public Tournament(final int size,
+                      final Level player1Level,
+                      final Level player2Level,
+                      final int threadCount,
+                      final long thinkTimeInMillis,
+                      final OpeningBook openingBook,
+                      final PersistentEvaluationCache evaluationCache,
+                      final int gameCount,
+                      final DataPrinter dataPrinter) {
+        this(size, player1Level, player2Level, threadCount, thinkTimeInMillis, openingBook, evaluationCache, gameCount,
+                Runtime.getRuntime().availableProcessors(), dataPrinter);
+    }
+
+    public Tournament(final int size,
+                      final Level player1Level,
+                      final Level player2Level,
+                      final int threadCount,
+                      final long thinkTimeInMillis,
+                      final OpeningBook openingBook,
+                      final PersistentEvaluationCache evaluationCache,
+                      final int gameCount,
+                      final int workerCount,
+                      final DataPrinter dataPrinter) {
+        if (gameCount <= 0) {
+            throw new IllegalArgumentException("Game count must be positive: " + gameCount);
+        }
+        if (workerCount <= 0) {
+            throw new IllegalArgumentException("Worker count must be positive: " + workerCount);
+        }
+        this.size = size;
+        this.player1Level = player1Level;
+        this.player2Level = player2Level;
+        this.threadCount = threadCount;
+        this.thinkTimeInMillis = thinkTimeInMillis;
+        this.openingBook = openingBook;
+        this.evaluationCache = evaluationCache;
+        this.gameCount = gameCount;
+        this.workerCount = Math.min(workerCount, gameCount);
+        this.dataPrinter = dataPrinter;
+    }
+
+    public void play() {
+        dataPrinter.printInstructions();
+        dataPrinter.printInfoMessage(String.format(
+                "Playing %s games: %s vs %s, size=%s, workers=%s, threads per strategy=%s, think time=%s ms",
+                gameCount, getPlayerName(X), getPlayerName(O), size, workerCount, threadCount, thinkTimeInMillis
+        ));
+        final PlayerStatistics player1Statistics = new PlayerStatistics();
+        final PlayerStatistics player2Statistics = new PlayerStatistics();
+        final LongAdder draws = new LongAdder();
+        final AtomicInteger nextGame = new AtomicInteger();
+        final ExecutorService executorService = Executors.newFixedThreadPool(workerCount);
+        final long startTime = System.nanoTime();
+        try {
+            final List<Future<?>> futures = new ArrayList<>(workerCount);
+            for (int i = 0; i < workerCount; i++) {
+                futures.add(executorService.submit(() ->
+                        playGames(nextGame, player1Statistics, player2Statistics, draws)
+                ));
+            }
+            for (final Future<?> future : futures) {
+                future.get();
+            }
+        } catch (final InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Tournament interrupted", exception);
+        } catch (final ExecutionException exception) {
+            throw new IllegalStateException(
+                    "Tournament worker failed: " + exception.getCause().getMessage(), exception
+            );
+        } finally {
+            executorService.shutdownNow();
+        }
+        printSummary(player1Statistics, player2Statistics, draws, System.nanoTime() - startTime);
+    }
+
+    private void playGames(final AtomicInteger nextGame,
+                           final PlayerStatistics player1Statistics,
+                           final PlayerStatistics player2Statistics,
+                           final LongAdder draws) {
+        final Game game = new Game(
+                size,
+                new NoOpDataPrinter(),
+                createPlayer(X, player1Level, player1Statistics),
+                createPlayer(O, player2Level, player2Statistics),
+                new WinnerVerifier(),
+                new CellVerifier(),
+                true
+        );
+        while (nextGame.getAndIncrement() < gameCount) {
+            final Sign winner = game.playNewGame();
+            if (winner == X) {
+                player1Statistics.wins.increment();
+            } else if (winner == O) {
+                player2Statistics.wins.increment();
+            } else {
+                draws.increment();
+            }
+        }
+    }
+
+    private Player createPlayer(final Sign sign, final Level level, final PlayerStatistics statistics) {
+        final ComputerMove computerMove = new ComputerMove(
+                level.getStrategies(threadCount, openingBook, evaluationCache), 0, thinkTimeInMillis
+        );
+        return new Player(sign, new TimedMove(computerMove, statistics.moveCount, statistics.moveTimeInNanos));
+    }
+
+    private void printSummary(final PlayerStatistics player1Statistics,
+                              final PlayerStatistics player2Statistics,
+                              final LongAdder draws,
+                              final long durationInNanos) {
+        final double durationInSeconds = durationInNanos / (double) TimeUnit.SECONDS.toNanos(1);
+        dataPrinter.printInfoMessage(String.format(
+                "Played %s games in %.2f s: %.2f games/second",
+                gameCount, durationInSeconds, gameCount / durationInSeconds
+        ));
+        printPlayerSummary(getPlayerName(X), player1Statistics);
+        printPlayerSummary(getPlayerName(O), player2Statistics);
+        dataPrinter.printInfoMessage(String.format(
+                "Draws: %s (%.1f%%)", draws.sum(), getPercent(draws.sum())
+        ));
+        if (evaluationCache != null) {
+            dataPrinter.printInfoMessage(String.format(
+                    "Evaluation cache: hits %s, misses %s, stores %s",
+                    evaluationCache.getHits(), evaluationCache.getMisses(), evaluationCache.getStores()
+            ));
+        }
+    }
+
+    private void printPlayerSummary(final String playerName, final PlayerStatistics statistics) {
+        final long wins = statistics.wins.sum();
+        final long moves = statistics.moveCount.sum();
+        final double averageMoveTimeInMillis =
+                moves > 0 ? statistics.moveTimeInNanos.sum() / (double) moves / TimeUnit.MILLISECONDS.toNanos(1) : 0;
+        dataPrinter.printInfoMessage(String.format(
+                "%s: wins %s (%.1f%%), moves %s, average move latency %.3f ms",
+                playerName, wins, getPercent(wins), moves, averageMoveTimeInMillis
+        ));
+    }
+
+    private double getPercent(final long value) {
+        return value * 100.0 / gameCount;
+    }
+
+    private String getPlayerName(final Sign sign) {
+        return "'" + sign + "' (" + (sign == X ? player1Level : player2Level) + ")";
+    }
+
+    /**
+     * @author devonline
+     * @link http://devonline.academy/java
+     */
+    private static final class PlayerStatistics {
+
+        private final LongAdder wins = new LongAdder();
+
+        private final LongAdder moveCount = new LongAdder();
+
+        private final LongAdder moveTimeInNanos = new LongAdder();
+    }
+}
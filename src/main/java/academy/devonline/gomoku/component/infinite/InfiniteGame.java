@@ -0,0 +1,218 @@
+/*
+ * Copyright (c) 2019. http://devonline.academy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package academy.devonline.gomoku.component.infinite;
+
+import academy.devonline.gomoku.component.search.SparseMoveSearch;
+import academy.devonline.gomoku.model.config.PlayerType;
+import academy.devonline.gomoku.model.game.Sign;
+import academy.devonline.gomoku.model.game.SparseGameTable;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import static academy.devonline.gomoku.model.config.PlayerType.USER;
+import static academy.devonline.gomoku.model.game.Sign.O;
+import static academy.devonline.gomoku.model.game.Sign.X;
+
+/**
+ * The infinite gomoku in the console: the game table is unbounded ({@link SparseGameTable}), so the game ends
+ * by the win only. The win is verified along four lines through the last move.
+ * <p>
+ * The computer moves are made by {@link SparseMoveSearch}. The user enters {@code ${ROW} ${COL}} of the move
+ * (any integers, the first move is usually {@code 0 0}), {@code undo} to take back the last move of the user or
+ * {@code quit} to stop the game. After each move the part of the table around the last move is printed.
+ * The game is stopped after {@value #MAX_MOVE_COUNT} moves, so COMPUTER vs COMPUTER game always ends.
+ *
+ * @author devonline
+ * @link http://devonline.academy/java
+ */
+public class InfiniteGame {
+
+    public static final int MAX_MOVE_COUNT = 10_000;
+
+    /**
+     * The count of the printed rows and columns on each side of the last move
+     */
+    private static final int VIEW_RADIUS = 10;
+
+    private final PlayerType player1Type;
+
+    private final PlayerType player2Type;
+
+    private final long delayInMillis;
+
+    private final BufferedReader reader;
+
+    private final PrintStream out;
+
+    private final SparseMoveSearch search = new SparseMoveSearch();
+
+    /**
+     * @param player1Type the type of {@code X} player, which makes the first move
+     * @param player2Type the type of {@code O} player
+     */
+    public InfiniteGame(final PlayerType player1Type, final PlayerType player2Type, final long delayInMillis) {
+        this(player1Type, player2Type, delayInMillis,
+                new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8)), System.out);
+    }
+
+    InfiniteGame(final PlayerType player1Type,
+                 final PlayerType player2Type,
+                 final long delayInMillis,
+                 final BufferedReader reader,
+                 final PrintStream out) {
+        this.player1Type = player1Type;
+        this.player2Type = player2Type;
+        this.delayInMillis = delayInMillis;
+        this.reader = reader;
+        this.out = out;
+    }
+
+    /**
+     * @return the sign of the winner or {@link Sign#EMPTY} if the game is stopped by the user or
+     * by {@link #MAX_MOVE_COUNT}
+     */
+    public Sign play() {
+        out.println("Infinite mode: the game table is unbounded, enter '${ROW} ${COL}' to make a move, " +
+                "'undo' to take back the move and 'quit' to exit.");
+        final SparseGameTable gameTable = new SparseGameTable();
+        while (gameTable.getMoveCount() < MAX_MOVE_COUNT) {
+            final Sign sign = gameTable.getMoveCount() == 0 ||
+                    gameTable.getSign(gameTable.getMove(gameTable.getMoveCount() - 1)) == O ? X : O;
+            final boolean moveMade = (sign == X ? player1Type : player2Type) == USER ?
+                    makeUserMove(gameTable, sign) :
+                    makeComputerMove(gameTable, sign);
+            if (!moveMade) {
+                out.println("Game is stopped");
+                return Sign.EMPTY;
+            }
+            final long move = gameTable.getMove(gameTable.getMoveCount() - 1);
+            printGameTable(gameTable, move);
+            if (gameTable.hasWinCombination(SparseGameTable.getRow(move), SparseGameTable.getCol(move), sign)) {
+                out.println(sign + " WIN!");
+                return sign;
+            }
+        }
+        out.printf("Game is stopped after %s moves%n", MAX_MOVE_COUNT);
+        return Sign.EMPTY;
+    }
+
+    private boolean makeComputerMove(final SparseGameTable gameTable, final Sign sign) {
+        if (delayInMillis > 0) {
+            try {
+                TimeUnit.MILLISECONDS.sleep(delayInMillis);
+            } catch (final InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        final long move = search.findBestMove(gameTable, sign);
+        gameTable.makeMove(SparseGameTable.getRow(move), SparseGameTable.getCol(move), sign);
+        return true;
+    }
+
+    /**
+     * @return false if the user quits
+     */
+    private boolean makeUserMove(final SparseGameTable gameTable, final Sign sign) {
+        while (true) {
+            out.printf("Enter the move of %s: ", sign);
+            final String line = readLine();
+            if (line == null) {
+                return false;
+            }
+            final String[] values = line.trim().toUpperCase(Locale.ROOT).split("\\s+");
+            if ("QUIT".equals(values[0]) && values.length == 1) {
+                return false;
+            } else if ("UNDO".equals(values[0]) && values.length == 1) {
+                undo(gameTable, sign);
+            } else if (values.length == 2) {
+                try {
+                    gameTable.makeMove(Integer.parseInt(values[0]), Integer.parseInt(values[1]), sign);
+                    return true;
+                } catch (final IllegalArgumentException exception) {
+                    // NumberFormatException is IllegalArgumentException too
+                    out.printf("Can't make a move '%s': %s! Try again%n", line, exception.getMessage());
+                }
+            } else {
+                out.printf("Unsupported command: '%s'! Use '${ROW} ${COL}', 'undo' or 'quit'%n", line);
+            }
+        }
+    }
+
+    /**
+     * Unmakes the moves up to the last move of the specified sign inclusive, so the user can make this move again
+     */
+    private void undo(final SparseGameTable gameTable, final Sign sign) {
+        int index = gameTable.getMoveCount() - 1;
+        while (index >= 0 && gameTable.getSign(gameTable.getMove(index)) != sign) {
+            index--;
+        }
+        if (index < 0) {
+            out.println("Can't undo, because there are no moves to take back! Make a move");
+            return;
+        }
+        while (gameTable.getMoveCount() > index) {
+            gameTable.unmakeMove();
+        }
+        if (gameTable.getMoveCount() > 0) {
+            printGameTable(gameTable, gameTable.getMove(gameTable.getMoveCount() - 1));
+        }
+    }
+
+    private String readLine() {
+        try {
+            return reader.readLine();
+        } catch (final IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    /**
+     * Prints the square of the table centered on the last move, the last move is marked by the brackets
+     */
+    private void printGameTable(final SparseGameTable gameTable, final long lastMove) {
+        final int centerRow = SparseGameTable.getRow(lastMove);
+        final int centerCol = SparseGameTable.getCol(lastMove);
+        final int minRow = Math.max(SparseGameTable.MIN_COORDINATE, centerRow - VIEW_RADIUS);
+        final int maxRow = Math.min(SparseGameTable.MAX_COORDINATE, centerRow + VIEW_RADIUS);
+        final int minCol = Math.max(SparseGameTable.MIN_COORDINATE, centerCol - VIEW_RADIUS);
+        final int maxCol = Math.min(SparseGameTable.MAX_COORDINATE, centerCol + VIEW_RADIUS);
+        final StringBuilder builder = new StringBuilder();
+        builder.append(String.format("Rows %s..%s, columns %s..%s, moves: %s%n",
+                minRow, maxRow, minCol, maxCol, gameTable.getMoveCount()));
+        for (int row = minRow; row <= maxRow; row++) {
+            builder.append(String.format("%12d ", row));
+            for (int col = minCol; col <= maxCol; col++) {
+                final Sign sign = gameTable.getSign(row, col);
+                final boolean last = row == centerRow && col == centerCol;
+                builder.append(last ? '[' : ' ')
+                        .append(sign == Sign.EMPTY ? '.' : sign.toString().charAt(0))
+                        .append(last ? ']' : ' ');
+            }
+            builder.append(System.lineSeparator());
+        }
+        out.print(builder);
+    }
+}
@@ -0,0 +1,244 @@
+/*
+ * Copyright (c) 2019. http://devonline.academy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package academy.devonline.gomoku.component.search;
+
+import academy.devonline.gomoku.model.game.GameTable;
+import academy.devonline.gomoku.model.game.Sign;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static academy.devonline.gomoku.component.search.NegamaxSearch.NO_DEADLINE;
+import static academy.devonline.gomoku.model.game.GameTable.NO_CELL;
+
+/**
+ * Lazy SMP parallel search: all threads search the same root position with their own {@link NegamaxSearch} and
+ * share only the lock-free {@link TranspositionTable}. The helper threads use the different move ordering and
+ * every second helper searches one ply deeper, so they fill the transposition table with the results, which
+ * the main search (running in the caller thread) reuses. The search is finished when the main search is finished.
+ * <p>
+ * The search to the fixed depth is unbounded in time. The time-managed search uses iterative deepening: it searches
+ * with depth 1, 2, 3, ... until the deadline and returns the best move of the last completed iteration. Each
+ * iteration fills the transposition table, so the next one starts from the best move of the previous one.
+ * <p>
+ * The helpers of all instances run in one shared pool with a thread per additional CPU core, so the count of
+ * the search threads does not grow with the count of instances (each player of each tournament worker and each
+ * computer move of the game server owns its strategies). If the pool is busy, the helper starts later or, if
+ * the main search is already finished, returns immediately.
+ * <p>
+ * The instance is thread-safe: concurrent searches are serialized.
+ *
+ * @author devonline
+ * @link http://devonline.academy/java
+ */
+public class LazySmpSearch {
+
+    private static final int HELPER_MOVE_ORDERING_NOISE = 8;
+
+    private static final int NEXT_ITERATION_TIME_FACTOR = 2;
+
+    private final TranspositionTable transpositionTable;
+
+    private final NegamaxSearch[] searches;
+
+    private final Future<?>[] futures;
+
+    /**
+     * The game tables of the helpers are reused between searches: the restoring of the similar position
+     * only makes and unmakes the different moves
+     */
+    private final GameTable[] helperGameTables;
+
+    private int completedDepth;
+
+    /**
+     * The sum of the node counts of all iterations of the last {@code findBestMove} call
+     */
+    private long nodeCount;
+
+    public LazySmpSearch(final int threadCount, final int transpositionTableCapacity, final int maxCandidates) {
+        if (threadCount < 1) {
+            throw new IllegalArgumentException("Invalid thread count: " + threadCount);
+        }
+        transpositionTable = new TranspositionTable(transpositionTableCapacity);
+        searches = new NegamaxSearch[threadCount];
+        searches[0] = new NegamaxSearch(transpositionTable, maxCandidates);
+        for (int i = 1; i < threadCount; i++) {
+            searches[i] = new NegamaxSearch(transpositionTable, maxCandidates, HELPER_MOVE_ORDERING_NOISE, i);
+        }
+        futures = new Future<?>[threadCount];
+        helperGameTables = new GameTable[threadCount];
+    }
+
+    /**
+     * @return the best move cell index for the specified sign or {@link GameTable#NO_CELL} if
+     * the game table does not contain empty cells
+     */
+    public synchronized int findBestMove(final GameTable gameTable, final Sign sign, final int depth) {
+        nodeCount = 0;
+        final int bestMove = search(gameTable, sign, depth, NO_DEADLINE);
+        completedDepth = searches[0].isStopped() ? 0 : depth;
+        return bestMove;
+    }
+
+    /**
+     * Iterative deepening search, which is stopped at the deadline.
+     *
+     * @param deadlineInNanos the {@link System#nanoTime()} value, when the best move must be returned
+     * @return the best move of the deepest completed iteration or the best move found by the first iteration
+     * if even it is not completed. {@link GameTable#NO_CELL} is returned if the game table does not contain
+     * empty cells
+     */
+    public synchronized int findBestMove(final GameTable gameTable,
+                                         final Sign sign,
+                                         final int maxDepth,
+                                         final long deadlineInNanos) {
+        int bestMove = NO_CELL;
+        completedDepth = 0;
+        nodeCount = 0;
+        for (int depth = 1; depth <= maxDepth; depth++) {
+            final long iterationStart = System.nanoTime();
+            final int move = search(gameTable, sign, depth, deadlineInNanos);
+            if (searches[0].isStopped()) {
+                if (bestMove == NO_CELL) {
+                    bestMove = move;
+                }
+                break;
+            }
+            bestMove = move;
+            completedDepth = depth;
+            final long now = System.nanoTime();
+            // the next iteration takes several times longer, so it is not started if it can't be completed
+            if (now >= deadlineInNanos || (now - iterationStart) * NEXT_ITERATION_TIME_FACTOR > deadlineInNanos - now) {
+                break;
+            }
+        }
+        return bestMove;
+    }
+
+    /**
+     * @return the depth of the last completed iteration of the iterative deepening search, the depth of
+     * the fixed depth search or 0 if the search is stopped by the interruption of the thread
+     */
+    public synchronized int getCompletedDepth() {
+        return completedDepth;
+    }
+
+    /**
+     * @return the score of the best move of the last completed search or iteration
+     */
+    public synchronized int getBestScore() {
+        return searches[0].getBestScore();
+    }
+
+    private int search(final GameTable gameTable, final Sign sign, final int depth, final long deadlineInNanos) {
+        transpositionTable.newSearch();
+        final GameTable.Snapshot snapshot = searches.length > 1 ? gameTable.snapshot() : null;
+        for (int i = 1; i < searches.length; i++) {
+            final NegamaxSearch helper = searches[i];
+            final GameTable helperGameTable = getHelperGameTable(i, snapshot);
+            final int helperDepth = depth + i % 2;
+            helper.setStopped(false);
+            helper.setDeadline(deadlineInNanos);
+            futures[i] = HelperPool.EXECUTOR.submit(() -> helper.findBestMove(helperGameTable, sign, helperDepth));
+        }
+        searches[0].setStopped(false);
+        searches[0].setDeadline(deadlineInNanos);
+        final int bestMove = searches[0].findBestMove(gameTable, sign, depth);
+        for (int i = 1; i < searches.length; i++) {
+            searches[i].setStopped(true);
+        }
+        for (int i = 1; i < searches.length; i++) {
+            awaitHelper(futures[i]);
+            futures[i] = null;
+        }
+        for (final NegamaxSearch search : searches) {
+            nodeCount += search.getNodeCount();
+        }
+        return bestMove;
+    }
+
+    private GameTable getHelperGameTable(final int index, final GameTable.Snapshot snapshot) {
+        if (helperGameTables[index] == null || helperGameTables[index].getSize() != snapshot.getSize()) {
+            helperGameTables[index] = new GameTable(snapshot.getSize());
+        }
+        helperGameTables[index].restore(snapshot);
+        return helperGameTables[index];
+    }
+
+    /**
+     * Waits for the helper even if the thread is interrupted, because the next search reuses the helper
+     */
+    private void awaitHelper(final Future<?> future) {
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    future.get();
+                    return;
+                } catch (final InterruptedException exception) {
+                    interrupted = true;
+                }
+            }
+        } catch (final ExecutionException exception) {
+            throw new IllegalStateException("Helper search failed: " + exception.getCause().getMessage(), exception);
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    public int getThreadCount() {
+        return searches.length;
+    }
+
+    /**
+     * @return the count of positions visited by all threads during the last search, including all iterations of
+     * the iterative deepening search
+     */
+    public synchronized long getNodeCount() {
+        return nodeCount;
+    }
+
+    public TranspositionTable getTranspositionTable() {
+        return transpositionTable;
+    }
+
+    /**
+     * The pool is created on the first multi-threaded search. The threads are daemons, so the pool is not shut down
+     */
+    private static final class HelperPool {
+
+        private static final ExecutorService EXECUTOR = createExecutor();
+
+        private static ExecutorService createExecutor() {
+            final AtomicInteger threadNumber = new AtomicInteger();
+            return Executors.newFixedThreadPool(Math.max(1, Runtime.getRuntime().availableProcessors() - 1),
+                    runnable -> {
+                        final Thread thread =
+                                new Thread(runnable, "lazy-smp-search-helper-" + threadNumber.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+        }
+    }
+}
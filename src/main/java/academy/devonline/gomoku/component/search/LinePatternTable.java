@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2019. http://devonline.academy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package academy.devonline.gomoku.component.search;
+
+import static academy.devonline.gomoku.Constants.WIN_COMBINATION_SIZE;
+
+/**
+ * Precomputed scores of the line patterns.
+ * <p>
+ * The pattern is a segment of {@value #PATTERN_LENGTH} cells of a line. Each cell is encoded by two bits: the own
+ * bit is set if the cell contains the own sign and the blocked bit is set if the cell contains the opponent sign
+ * or is outside the game table. The score of the pattern is the sum of:
+ * <ul>
+ *     <li>the weight of the win combination formed by the first {@code WIN_COMBINATION_SIZE} cells, if
+ *     the win combination is not blocked: {@link #FIVE} for five signs, {@code WINDOW_WEIGHTS[count]} otherwise;</li>
+ *     <li>{@link #OPEN_FOUR} or {@link #OPEN_THREE} bonus if both end cells are empty and the inner cells contain
+ *     four or three own signs and empty cells only.</li>
+ * </ul>
+ * The score of the line is the sum of the scores of all its patterns: from the pattern, which starts at the first cell
+ * of the line, to the pattern, which starts {@code WIN_COMBINATION_SIZE} cells before the line end.
+ *
+ * @author devonline
+ * @link http://devonline.academy/java
+ */
+public final class LinePatternTable {
+
+    public static final int PATTERN_LENGTH = WIN_COMBINATION_SIZE + 1;
+
+    public static final int FIVE = 1_000_000;
+
+    public static final int OPEN_FOUR = 50_000;
+
+    public static final int OPEN_THREE = 500;
+
+    /**
+     * {@code WINDOW_WEIGHTS[count]} is a value of the win combination with {@code count} own signs and empty cells
+     */
+    private static final int[] WINDOW_WEIGHTS = {0, 1, 10, 100, 1000};
+
+    private static final int PATTERN_MASK = (1 << PATTERN_LENGTH) - 1;
+
+    private static final int WINDOW_MASK = (1 << WIN_COMBINATION_SIZE) - 1;
+
+    private static final int INNER_MASK = PATTERN_MASK & ~1 & ~(1 << (PATTERN_LENGTH - 1));
+
+    /**
+     * {@code SCORES[own | blocked << PATTERN_LENGTH]}
+     */
+    private static final int[] SCORES = new int[1 << 2 * PATTERN_LENGTH];
+
+    static {
+        for (int own = 0; own <= PATTERN_MASK; own++) {
+            for (int blocked = 0; blocked <= PATTERN_MASK; blocked++) {
+                if ((own & blocked) == 0) {
+                    SCORES[own | blocked << PATTERN_LENGTH] = computeScore(own, blocked);
+                }
+            }
+        }
+    }
+
+    private LinePatternTable() {
+    }
+
+    /**
+     * @param own     the own bits of the pattern
+     * @param blocked the blocked bits of the pattern
+     */
+    public static int getScore(final int own, final int blocked) {
+        return SCORES[own | blocked << PATTERN_LENGTH];
+    }
+
+    /**
+     * @param own      the line bits of the own sign: bit {@code i} is set if the {@code i}-th cell of the line
+     *                 contains the own sign
+     * @param opponent the line bits of the opponent sign
+     * @param length   the count of cells in the line
+     * @return the sum of the pattern scores of the line
+     */
+    public static int getLineScore(final long own, final long opponent, final int length) {
+        if (length < WIN_COMBINATION_SIZE) {
+            return 0;
+        }
+        // the pattern, which starts one cell before the line, always scores 0: its win combination and
+        // its first end cell cover the border, so the patterns start from the first cell of the line
+        int score = 0;
+        final int lastStart = length - WIN_COMBINATION_SIZE;
+        for (int start = 0; start <= lastStart; start++) {
+            score += getPatternScore(own, opponent, start, lastStart);
+        }
+        return score;
+    }
+
+    /**
+     * @param own      the line bits of the own sign
+     * @param opponent the line bits of the opponent sign
+     * @param length   the count of cells in the line
+     * @param position the index of the cell in the line
+     * @return the sum of the scores of the line patterns, which contain the cell
+     */
+    public static int getCellScore(final long own, final long opponent, final int length, final int position) {
+        if (length < WIN_COMBINATION_SIZE) {
+            return 0;
+        }
+        int score = 0;
+        final int lastStart = length - WIN_COMBINATION_SIZE;
+        final int endStart = Math.min(lastStart, position);
+        for (int start = Math.max(0, position - PATTERN_LENGTH + 1); start <= endStart; start++) {
+            score += getPatternScore(own, opponent, start, lastStart);
+        }
+        return score;
+    }
+
+    private static int getPatternScore(final long own, final long opponent, final int start, final int lastStart) {
+        if (start < lastStart) {
+            return getScore((int) (own >>> start) & PATTERN_MASK, (int) (opponent >>> start) & PATTERN_MASK);
+        }
+        // the last cell of the last pattern is outside the line
+        return getScore(
+                (int) (own >>> start) & WINDOW_MASK,
+                (int) (opponent >>> start) & WINDOW_MASK | 1 << WIN_COMBINATION_SIZE
+        );
+    }
+
+    private static int computeScore(final int own, final int blocked) {
+        int score = 0;
+        if ((blocked & WINDOW_MASK) == 0) {
+            final int count = Integer.bitCount(own & WINDOW_MASK);
+            score += count == WIN_COMBINATION_SIZE ? FIVE : WINDOW_WEIGHTS[count];
+        }
+        final boolean open = ((own | blocked) & ~INNER_MASK & PATTERN_MASK) == 0 && (blocked & INNER_MASK) == 0;
+        if (open) {
+            final int count = Integer.bitCount(own & INNER_MASK);
+            if (count == WIN_COMBINATION_SIZE - 1) {
+                score += OPEN_FOUR;
+            } else if (count == WIN_COMBINATION_SIZE - 2) {
+                score += OPEN_THREE;
+            }
+        }
+        return score;
+    }
+}
@@ -0,0 +1,408 @@
+/*
+ * Copyright (c) 2019. http://devonline.academy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package academy.devonline.gomoku.component.search;
+
+import academy.devonline.gomoku.component.ComputerMoveStrategy;
+import academy.devonline.gomoku.model.config.Level;
+import academy.devonline.gomoku.model.game.GameTable;
+import academy.devonline.gomoku.model.game.Sign;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static academy.devonline.gomoku.model.game.GameTable.NO_CELL;
+
+/**
+ * Parallel Monte Carlo tree search with the UCT selection.
+ * <p>
+ * All worker threads of the {@link ForkJoinPool} share one tree. A thread, which goes through a node, adds
+ * the virtual loss to the node, so other threads prefer other branches until the playout result is propagated.
+ * Playouts are played by the {@link Level#LEVEL2} strategies, i.e. by the win combination patterns.
+ * Each worker plays on its own copy of the game table and retracts all moves after the iteration.
+ * <p>
+ * A leaf is expanded after {@value #EXPANSION_THRESHOLD} visits only and the tree never grows beyond
+ * {@value #MAX_NODE_COUNT} nodes, so the memory of the search is bounded whatever the budget is.
+ * <p>
+ * The instance is thread-safe: concurrent searches are serialized.
+ *
+ * @author devonline
+ * @link http://devonline.academy/java
+ */
+public class MonteCarloTreeSearch {
+
+    private static final double EXPLORATION = Math.sqrt(2);
+
+    private static final int VIRTUAL_LOSS = 3;
+
+    /**
+     * Rewards are stored as integers: win = 2, draw = 1, loss = 0
+     */
+    private static final int WIN_REWARD = 2;
+
+    private static final int DRAW_REWARD = 1;
+
+    private static final int EXPANSION_THRESHOLD = 2;
+
+    private static final int MAX_NODE_COUNT = 500_000;
+
+    private final ForkJoinPool forkJoinPool;
+
+    private final int threadCount;
+
+    private final AtomicLong playoutCount = new AtomicLong();
+
+    private final AtomicInteger nodeCount = new AtomicInteger();
+
+    /**
+     * The game tables of the workers are reused between searches: the restoring of the similar position
+     * only makes and unmakes the different moves
+     */
+    private final GameTable[] workerGameTables;
+
+    public MonteCarloTreeSearch(final int threadCount) {
+        if (threadCount < 1) {
+            throw new IllegalArgumentException("Invalid thread count: " + threadCount);
+        }
+        this.threadCount = threadCount;
+        this.workerGameTables = new GameTable[threadCount];
+        this.forkJoinPool = new ForkJoinPool(threadCount, pool -> {
+            final ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setDaemon(true);
+            thread.setName("monte-carlo-tree-search-worker-" + thread.getPoolIndex());
+            return thread;
+        }, null, false);
+    }
+
+    /**
+     * Runs playouts until the time budget or the playout budget is exhausted or the thread is interrupted.
+     *
+     * @return the most visited move cell index for the specified sign or {@link GameTable#NO_CELL} if
+     * the game table does not contain empty cells
+     */
+    public synchronized int findBestMove(final GameTable gameTable,
+                                         final Sign sign,
+                                         final long timeBudgetInMillis,
+                                         final int playoutBudget) {
+        playoutCount.set(0);
+        nodeCount.set(1);
+        final Node root = new Node(NO_CELL, sign.oppositeSign());
+        if (!root.expand(gameTable, nodeCount)) {
+            return NO_CELL;
+        }
+        if (root.children.length == 1) {
+            return root.children[0].move;
+        }
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeBudgetInMillis);
+        final AtomicInteger remainingPlayouts = new AtomicInteger(playoutBudget);
+        final GameTable.Snapshot snapshot = gameTable.snapshot();
+        final Thread caller = Thread.currentThread();
+        final Future<?>[] futures = new Future<?>[threadCount];
+        for (int i = 0; i < threadCount; i++) {
+            final Worker worker =
+                    new Worker(root, getWorkerGameTable(i, snapshot), deadline, remainingPlayouts, caller);
+            futures[i] = forkJoinPool.submit(worker::run);
+        }
+        for (final Future<?> future : futures) {
+            await(future);
+        }
+        return root.getMostVisitedChild().move;
+    }
+
+    private GameTable getWorkerGameTable(final int index, final GameTable.Snapshot snapshot) {
+        if (workerGameTables[index] == null || workerGameTables[index].getSize() != snapshot.getSize()) {
+            workerGameTables[index] = new GameTable(snapshot.getSize());
+        }
+        workerGameTables[index].restore(snapshot);
+        return workerGameTables[index];
+    }
+
+    /**
+     * Waits for the worker even if the thread is interrupted, because the next search reuses its game table
+     */
+    private void await(final Future<?> future) {
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    future.get();
+                    return;
+                } catch (final InterruptedException exception) {
+                    interrupted = true;
+                }
+            }
+        } catch (final ExecutionException exception) {
+            throw new IllegalStateException(
+                    "Monte Carlo worker failed: " + exception.getCause().getMessage(), exception);
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    public int getThreadCount() {
+        return threadCount;
+    }
+
+    /**
+     * @return the count of playouts of the last search
+     */
+    public long getPlayoutCount() {
+        return playoutCount.get();
+    }
+
+    /**
+     * @return the count of tree nodes of the last search
+     */
+    public int getNodeCount() {
+        return nodeCount.get();
+    }
+
+    /**
+     * @author devonline
+     * @link http://devonline.academy/java
+     */
+    private final class Worker {
+
+        private final Node root;
+
+        private final GameTable gameTable;
+
+        private final long deadline;
+
+        private final AtomicInteger remainingPlayouts;
+
+        /**
+         * The thread, which waits for the search: its interruption stops the workers
+         */
+        private final Thread caller;
+
+        private final ComputerMoveStrategy[] playoutStrategies = Level.LEVEL2.getStrategies();
+
+        private final Node[] path;
+
+        private Worker(final Node root,
+                       final GameTable gameTable,
+                       final long deadline,
+                       final AtomicInteger remainingPlayouts,
+                       final Thread caller) {
+            this.root = root;
+            this.gameTable = gameTable;
+            this.deadline = deadline;
+            this.remainingPlayouts = remainingPlayouts;
+            this.caller = caller;
+            this.path = new Node[gameTable.getEmptyCellCount() + 1];
+        }
+
+        private void run() {
+            while (remainingPlayouts.getAndDecrement() > 0 && System.nanoTime() < deadline && !caller.isInterrupted()) {
+                iterate();
+                playoutCount.incrementAndGet();
+            }
+        }
+
+        private void iterate() {
+            final int rootMoveCount = gameTable.getMoveCount();
+            int pathLength = 0;
+            Node node = root;
+            path[pathLength++] = node;
+            Sign winner = null;
+            while (winner == null && node.children != null) {
+                node = node.selectChild();
+                node.addVisits(VIRTUAL_LOSS);
+                path[pathLength++] = node;
+                gameTable.makeMove(node.move, node.sign);
+                winner = getWinner(node.move, node.sign);
+            }
+            // the visits of the leaf include the virtual loss of this iteration
+            if (winner == null && node.getVisits() - VIRTUAL_LOSS >= EXPANSION_THRESHOLD &&
+                    node.expand(gameTable, nodeCount)) {
+                final Node child = node.selectChild();
+                child.addVisits(VIRTUAL_LOSS);
+                path[pathLength++] = child;
+                gameTable.makeMove(child.move, child.sign);
+                winner = getWinner(child.move, child.sign);
+                node = child;
+            }
+            Sign sign = node.sign;
+            while (winner == null) {
+                sign = sign.oppositeSign();
+                makePlayoutMove(sign);
+                winner = getWinner(gameTable.getLastMove(), sign);
+            }
+            for (int i = 1; i < pathLength; i++) {
+                path[i].update(winner);
+            }
+            root.addVisits(1);
+            while (gameTable.getMoveCount() > rootMoveCount) {
+                gameTable.unmakeMove();
+            }
+        }
+
+        private void makePlayoutMove(final Sign sign) {
+            for (final ComputerMoveStrategy strategy : playoutStrategies) {
+                if (strategy.tryToMakeMove(gameTable, sign)) {
+                    return;
+                }
+            }
+            throw new IllegalStateException("Game table does not contain empty cells");
+        }
+
+        /**
+         * @return the sign of the winner, {@link Sign#EMPTY} for the draw or null if the game is not over
+         */
+        private Sign getWinner(final int lastMove, final Sign lastMoveSign) {
+            if (gameTable.hasWinCombination(lastMove, lastMoveSign)) {
+                return lastMoveSign;
+            } else if (gameTable.getEmptyCellCount() == 0) {
+                return Sign.EMPTY;
+            } else {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * @author devonline
+     * @link http://devonline.academy/java
+     */
+    private static final class Node {
+
+        private static final VarHandle VISITS;
+
+        private static final VarHandle REWARDS;
+
+        static {
+            try {
+                final MethodHandles.Lookup lookup = MethodHandles.lookup();
+                VISITS = lookup.findVarHandle(Node.class, "visits", int.class);
+                REWARDS = lookup.findVarHandle(Node.class, "rewards", int.class);
+            } catch (final ReflectiveOperationException exception) {
+                throw new ExceptionInInitializerError(exception);
+            }
+        }
+
+        private final int move;
+
+        /**
+         * The sign, which made the move
+         */
+        private final Sign sign;
+
+        /**
+         * The counters are updated through {@link #VISITS} and {@link #REWARDS} only: plain int fields are much
+         * smaller than two atomic objects per node
+         */
+        private int visits;
+
+        private int rewards;
+
+        private volatile Node[] children;
+
+        private Node(final int move, final Sign sign) {
+            this.move = move;
+            this.sign = sign;
+        }
+
+        /**
+         * @return false if the game table does not contain empty cells or the tree already has
+         * {@value #MAX_NODE_COUNT} nodes
+         */
+        private boolean expand(final GameTable gameTable, final AtomicInteger nodeCount) {
+            if (children != null) {
+                return true;
+            }
+            synchronized (this) {
+                if (children == null) {
+                    final int emptyCellCount = gameTable.getEmptyCellCount();
+                    final boolean emptyGameTable = emptyCellCount == gameTable.getSize() * gameTable.getSize();
+                    final int count = emptyGameTable ? emptyCellCount : gameTable.getCandidateCount();
+                    final int[] cells = new int[count];
+                    for (int i = 0; i < count; i++) {
+                        cells[i] = emptyGameTable ? gameTable.getEmptyCell(i) : gameTable.getCandidate(i);
+                    }
+                    if (count == 0) {
+                        return false;
+                    }
+                    if (nodeCount.addAndGet(count) > MAX_NODE_COUNT) {
+                        nodeCount.addAndGet(-count);
+                        return false;
+                    }
+                    final Node[] newChildren = new Node[count];
+                    for (int i = 0; i < count; i++) {
+                        newChildren[i] = new Node(cells[i], sign.oppositeSign());
+                    }
+                    children = newChildren;
+                }
+                return true;
+            }
+        }
+
+        private Node selectChild() {
+            final Node[] nodes = children;
+            final double logParentVisits = Math.log(Math.max(1, getVisits()));
+            Node best = nodes[0];
+            double bestValue = Double.NEGATIVE_INFINITY;
+            for (final Node child : nodes) {
+                final int childVisits = child.getVisits();
+                final double value = childVisits == 0 ? Double.MAX_VALUE :
+                        (double) (int) REWARDS.getVolatile(child) / (WIN_REWARD * childVisits) +
+                                EXPLORATION * Math.sqrt(logParentVisits / childVisits);
+                if (value > bestValue) {
+                    bestValue = value;
+                    best = child;
+                }
+            }
+            return best;
+        }
+
+        private void update(final Sign winner) {
+            if (winner == sign) {
+                REWARDS.getAndAdd(this, WIN_REWARD);
+            } else if (winner == Sign.EMPTY) {
+                REWARDS.getAndAdd(this, DRAW_REWARD);
+            }
+            addVisits(1 - VIRTUAL_LOSS);
+        }
+
+        private int getVisits() {
+            return (int) VISITS.getVolatile(this);
+        }
+
+        private void addVisits(final int delta) {
+            VISITS.getAndAdd(this, delta);
+        }
+
+        private Node getMostVisitedChild() {
+            Node best = children[0];
+            for (final Node child : children) {
+                if (child.getVisits() > best.getVisits()) {
+                    best = child;
+                }
+            }
+            return best;
+        }
+    }
+}
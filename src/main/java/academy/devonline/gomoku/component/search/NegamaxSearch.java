@@ -0,0 +1,382 @@
+/*
+ * Copyright (c) 2019. http://devonline.academy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package academy.devonline.gomoku.component.search;
+
+import academy.devonline.gomoku.model.game.GameTable;
+import academy.devonline.gomoku.model.game.Sign;
+import academy.devonline.gomoku.model.game.WinCombinationIndex;
+import academy.devonline.gomoku.model.game.WinCombinations;
+
+import java.util.SplittableRandom;
+
+import static academy.devonline.gomoku.Constants.WIN_COMBINATION_SIZE;
+import static academy.devonline.gomoku.component.search.TranspositionTable.EXACT;
+import static academy.devonline.gomoku.component.search.TranspositionTable.LOWER_BOUND;
+import static academy.devonline.gomoku.component.search.TranspositionTable.NOT_FOUND;
+import static academy.devonline.gomoku.component.search.TranspositionTable.UPPER_BOUND;
+import static academy.devonline.gomoku.model.game.GameTable.NO_CELL;
+
+/**
+ * Negamax search with alpha-beta pruning.
+ * <p>
+ * The search plays and retracts moves directly on the game table, so the game table must not be used by
+ * other threads during the search. Only empty cells near the existing signs are considered as moves. The moves are
+ * ordered by {@link PatternEvaluator#getMoveScore(int, Sign)} and only the best {@code maxCandidates} moves are
+ * searched. The leaf positions are evaluated by {@link PatternEvaluator}, which is rebuilt at the root and updated
+ * by each move of the search, the wins and the forced moves are found by the {@link WinCombinationIndex}.
+ * <p>
+ * The instance is not thread-safe, except {@link #setStopped(boolean)} method, which can be invoked by other thread
+ * to abort the running search. The transposition table can be shared between instances used by different threads.
+ *
+ * @author devonline
+ * @link http://devonline.academy/java
+ */
+public class NegamaxSearch {
+
+    public static final int WIN_SCORE = 1_000_000;
+
+    public static final long NO_DEADLINE = Long.MAX_VALUE;
+
+    /**
+     * The deadline and the interruption of the thread are checked once per {@code TIME_CHECK_INTERVAL} nodes,
+     * because {@link System#nanoTime()} is much slower than the node visit
+     */
+    private static final int TIME_CHECK_INTERVAL = 256;
+
+    private static final int INFINITY = WIN_SCORE + 1;
+
+    private static final int MAX_PLY = Long.SIZE;
+
+    /**
+     * The static score is limited, so it is never taken for the win score
+     */
+    private static final int MAX_EVALUATION = WIN_SCORE - MAX_PLY - 1;
+
+    /**
+     * The same position can be reached with different sides to move, because any player can make the first move
+     */
+    private static final long O_TO_MOVE_KEY = 0x9E3779B97F4A7C15L;
+
+    private final TranspositionTable transpositionTable;
+
+    private final int maxCandidates;
+
+    /**
+     * Random value from 0 (inclusive) to {@code moveOrderingNoise} (exclusive) is added to each move score, so
+     * the searches, which share the transposition table, explore the moves in the different order
+     */
+    private final int moveOrderingNoise;
+
+    private final SplittableRandom random;
+
+    private final int[][] moves;
+
+    private final int[][] moveScores;
+
+    private PatternEvaluator evaluator;
+
+    private long nodeCount;
+
+    private int bestScore;
+
+    private volatile boolean stopped;
+
+    private long deadlineInNanos = NO_DEADLINE;
+
+    public NegamaxSearch(final TranspositionTable transpositionTable, final int maxCandidates) {
+        this(transpositionTable, maxCandidates, 0, 0);
+    }
+
+    public NegamaxSearch(final TranspositionTable transpositionTable,
+                         final int maxCandidates,
+                         final int moveOrderingNoise,
+                         final long seed) {
+        this.transpositionTable = transpositionTable;
+        this.maxCandidates = maxCandidates;
+        this.moveOrderingNoise = moveOrderingNoise;
+        this.random = new SplittableRandom(seed);
+        this.moves = new int[MAX_PLY + 1][maxCandidates];
+        this.moveScores = new int[MAX_PLY + 1][maxCandidates];
+    }
+
+    /**
+     * The caller must invoke {@link TranspositionTable#newSearch()} before the search.
+     *
+     * @return the best move cell index for the specified sign or {@link GameTable#NO_CELL} if
+     * the game table does not contain empty cells. If the search is stopped, the result is the best move among
+     * the completely searched root moves or the first generated move
+     */
+    public int findBestMove(final GameTable gameTable, final Sign sign, final int depth) {
+        if (depth < 1 || depth > MAX_PLY) {
+            throw new IllegalArgumentException("Invalid search depth: " + depth);
+        }
+        nodeCount = 0;
+        if (evaluator == null || evaluator.getSize() != gameTable.getSize()) {
+            evaluator = new PatternEvaluator(gameTable.getSize());
+        }
+        evaluator.reset(gameTable);
+        final int moveCount = generateMoves(gameTable, sign, 0, NO_CELL);
+        int bestMove = moveCount > 0 ? moves[0][0] : NO_CELL;
+        int alpha = -INFINITY;
+        for (int i = 0; i < moveCount; i++) {
+            final int move = moves[0][i];
+            final int score = searchMove(gameTable, sign, move, depth, alpha, INFINITY, 0);
+            if (stopped) {
+                return bestMove;
+            }
+            if (score > alpha) {
+                alpha = score;
+                bestMove = move;
+            }
+        }
+        transpositionTable.store(getHash(gameTable, sign), bestMove, alpha, depth, EXACT);
+        bestScore = alpha;
+        return bestMove;
+    }
+
+    /**
+     * @param deadlineInNanos the {@link System#nanoTime()} value, after which the search is stopped,
+     *                        or {@link #NO_DEADLINE}
+     */
+    public void setDeadline(final long deadlineInNanos) {
+        this.deadlineInNanos = deadlineInNanos;
+    }
+
+    public boolean isStopped() {
+        return stopped;
+    }
+
+    /**
+     * @param stopped if true, the running search is aborted as soon as possible and following searches return
+     *                immediately until the flag is cleared
+     */
+    public void setStopped(final boolean stopped) {
+        this.stopped = stopped;
+    }
+
+    /**
+     * @return the count of positions visited by the last search
+     */
+    public long getNodeCount() {
+        return nodeCount;
+    }
+
+    /**
+     * @return the score of the best move of the last completed (not stopped) search
+     */
+    public int getBestScore() {
+        return bestScore;
+    }
+
+    private int searchMove(final GameTable gameTable,
+                           final Sign sign,
+                           final int move,
+                           final int depth,
+                           final int alpha,
+                           final int beta,
+                           final int ply) {
+        gameTable.makeMove(move, sign);
+        evaluator.setSign(move, sign);
+        final int score;
+        if (gameTable.hasWinCombination(move, sign)) {
+            score = WIN_SCORE - ply;
+        } else if (gameTable.getEmptyCellCount() == 0) {
+            score = 0;
+        } else {
+            score = -negamax(gameTable, sign.oppositeSign(), depth - 1, -beta, -alpha, ply + 1);
+        }
+        gameTable.unmakeMove();
+        evaluator.setSign(move, Sign.EMPTY);
+        return score;
+    }
+
+    private int negamax(final GameTable gameTable,
+                        final Sign sign,
+                        final int depth,
+                        final int alpha,
+                        final int beta,
+                        final int ply) {
+        if (stopped) {
+            return 0;
+        }
+        nodeCount++;
+        if (nodeCount % TIME_CHECK_INTERVAL == 0 && (Thread.currentThread().isInterrupted() ||
+                deadlineInNanos != NO_DEADLINE && System.nanoTime() >= deadlineInNanos)) {
+            stopped = true;
+            return 0;
+        }
+        final WinCombinationIndex index = gameTable.getWinCombinationIndex();
+        if (index.getCombinationCount(sign, WIN_COMBINATION_SIZE - 1) > 0) {
+            return WIN_SCORE - ply;
+        }
+        if (depth == 0 || ply == MAX_PLY) {
+            return evaluate(sign);
+        }
+        final long hash = getHash(gameTable, sign);
+        final long entry = transpositionTable.probe(hash);
+        int hashMove = NO_CELL;
+        if (entry != NOT_FOUND) {
+            hashMove = TranspositionTable.getBestMove(entry);
+            if (TranspositionTable.getDepth(entry) >= depth) {
+                final int score = fromStoredScore(TranspositionTable.getScore(entry), ply);
+                final int bound = TranspositionTable.getBound(entry);
+                if (bound == EXACT ||
+                        bound == LOWER_BOUND && score >= beta ||
+                        bound == UPPER_BOUND && score <= alpha) {
+                    return score;
+                }
+            }
+        }
+        final int moveCount = generateMoves(gameTable, sign, ply, hashMove);
+        int currentAlpha = alpha;
+        int bestScore = -INFINITY;
+        int bestMove = NO_CELL;
+        for (int i = 0; i < moveCount; i++) {
+            final int move = moves[ply][i];
+            final int score = searchMove(gameTable, sign, move, depth, currentAlpha, beta, ply);
+            if (score > bestScore) {
+                bestScore = score;
+                bestMove = move;
+                if (score > currentAlpha) {
+                    currentAlpha = score;
+                    if (currentAlpha >= beta) {
+                        break;
+                    }
+                }
+            }
+        }
+        if (stopped) {
+            return 0;
+        }
+        final int bound = bestScore >= beta ? LOWER_BOUND : bestScore > alpha ? EXACT : UPPER_BOUND;
+        transpositionTable.store(hash, bestMove, toStoredScore(bestScore, ply), depth, bound);
+        return bestScore;
+    }
+
+    /**
+     * @return the static score of the position from the point of view of the specified sign
+     */
+    private int evaluate(final Sign sign) {
+        return Math.max(-MAX_EVALUATION, Math.min(MAX_EVALUATION, evaluator.getScore(sign)));
+    }
+
+    /**
+     * Stores the best {@code maxCandidates} moves ordered by the descending move score into {@code moves[ply]}.
+     * If the sign can win or must block the opponent's four, only these moves are generated.
+     *
+     * @return the count of generated moves
+     */
+    private int generateMoves(final GameTable gameTable, final Sign sign, final int ply, final int hashMove) {
+        final WinCombinationIndex index = gameTable.getWinCombinationIndex();
+        if (gameTable.getEmptyCellCount() == 0) {
+            return 0;
+        }
+        if (gameTable.getEmptyCellCount() == gameTable.getSize() * gameTable.getSize()) {
+            moves[ply][0] = gameTable.getCellIndex(gameTable.getSize() / 2, gameTable.getSize() / 2);
+            return 1;
+        }
+        int count = 0;
+        final Sign opponentSign = sign.oppositeSign();
+        final Sign forcedSign = index.getCombinationCount(sign, WIN_COMBINATION_SIZE - 1) > 0 ? sign :
+                index.getCombinationCount(opponentSign, WIN_COMBINATION_SIZE - 1) > 0 ? opponentSign : null;
+        if (forcedSign != null) {
+            final WinCombinations winCombinations = index.getWinCombinations();
+            final int combinationCount = index.getCombinationCount(forcedSign, WIN_COMBINATION_SIZE - 1);
+            for (int i = 0; i < combinationCount; i++) {
+                final int combination = index.getCombination(forcedSign, WIN_COMBINATION_SIZE - 1, i);
+                for (int k = 0; k < WIN_COMBINATION_SIZE; k++) {
+                    final int cell = winCombinations.getCell(combination, k);
+                    if (gameTable.isEmpty(cell)) {
+                        count = addMove(ply, count, cell, scoreMove(sign, cell));
+                    }
+                }
+            }
+            return count;
+        }
+        for (int i = 0; i < gameTable.getCandidateCount(); i++) {
+            final int cell = gameTable.getCandidate(i);
+            if (cell == hashMove) {
+                count = addMove(ply, count, cell, Integer.MAX_VALUE);
+            } else {
+                count = addMove(ply, count, cell, scoreMove(sign, cell));
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Inserts the move into the sorted by score descending {@code moves[ply]} array, skipping duplicates
+     * and keeping only the best {@code maxCandidates} moves.
+     *
+     * @return new count of moves
+     */
+    private int addMove(final int ply, final int count, final int move, final int score) {
+        final int[] plyMoves = moves[ply];
+        final int[] plyScores = moveScores[ply];
+        for (int i = 0; i < count; i++) {
+            if (plyMoves[i] == move) {
+                return count;
+            }
+        }
+        int position = count < maxCandidates ? count : maxCandidates - 1;
+        if (count == maxCandidates && plyScores[position] >= score) {
+            return count;
+        }
+        while (position > 0 && plyScores[position - 1] < score) {
+            plyMoves[position] = plyMoves[position - 1];
+            plyScores[position] = plyScores[position - 1];
+            position--;
+        }
+        plyMoves[position] = move;
+        plyScores[position] = score;
+        return count < maxCandidates ? count + 1 : count;
+    }
+
+    /**
+     * @return the sum of the attack value (the growth of the own patterns) and the defence value (the growth of
+     * the opponent patterns, which is prevented by the move)
+     */
+    private int scoreMove(final Sign sign, final int cell) {
+        final int score = evaluator.getMoveScore(cell, sign);
+        return moveOrderingNoise > 0 ? score + random.nextInt(moveOrderingNoise) : score;
+    }
+
+    private static long getHash(final GameTable gameTable, final Sign sign) {
+        return sign == Sign.O ? gameTable.getHash() ^ O_TO_MOVE_KEY : gameTable.getHash();
+    }
+
+    private static int toStoredScore(final int score, final int ply) {
+        if (score > WIN_SCORE - MAX_PLY) {
+            return score + ply;
+        } else if (score < -WIN_SCORE + MAX_PLY) {
+            return score - ply;
+        } else {
+            return score;
+        }
+    }
+
+    private static int fromStoredScore(final int score, final int ply) {
+        if (score > WIN_SCORE - MAX_PLY) {
+            return score - ply;
+        } else if (score < -WIN_SCORE + MAX_PLY) {
+            return score + ply;
+        } else {
+            return score;
+        }
+    }
+}
@@ -0,0 +1,206 @@
+/*
+ * Copyright (c) 2019. http://devonline.academy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package academy.devonline.gomoku.component.search;
+
+import academy.devonline.gomoku.model.game.GameTable;
+import academy.devonline.gomoku.model.game.Sign;
+
+import java.util.Arrays;
+
+import static academy.devonline.gomoku.model.game.Sign.EMPTY;
+import static academy.devonline.gomoku.model.game.Sign.O;
+import static academy.devonline.gomoku.model.game.Sign.X;
+
+/**
+ * Evaluates the position by the {@link LinePatternTable} scores of all lines of the game table.
+ * <p>
+ * The evaluator keeps its own bit masks of the lines and the score of each line, so the change of one cell
+ * rescores only four lines through this cell. The evaluator must be notified about each change of the game table
+ * by {@link #setSign(int, Sign)} or rebuilt by {@link #reset(GameTable)}. The instance is not thread-safe.
+ *
+ * @author devonline
+ * @link http://devonline.academy/java
+ */
+public class PatternEvaluator {
+
+    private final int size;
+
+    /**
+     * The same layout as the bitboards of {@link GameTable}: {@code lines[direction][sign][line]}
+     */
+    private final long[][][] lines;
+
+    /**
+     * {@code lineScores[direction][sign][line]}
+     */
+    private final int[][][] lineScores;
+
+    private final int[] totalScores = new int[2];
+
+    public PatternEvaluator(final int size) {
+        this.size = size;
+        lines = new long[][][]{
+                new long[2][size],
+                new long[2][size],
+                new long[2][2 * size - 1],
+                new long[2][2 * size - 1]
+        };
+        lineScores = new int[][][]{
+                new int[2][size],
+                new int[2][size],
+                new int[2][2 * size - 1],
+                new int[2][2 * size - 1]
+        };
+    }
+
+    public static PatternEvaluator of(final GameTable gameTable) {
+        final PatternEvaluator evaluator = new PatternEvaluator(gameTable.getSize());
+        evaluator.reset(gameTable);
+        return evaluator;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Rebuilds the evaluator from the specified game table
+     */
+    public void reset(final GameTable gameTable) {
+        if (gameTable.getSize() != size) {
+            throw new IllegalArgumentException(String.format(
+                    "Invalid game table size: %s! Expected size: %s!", gameTable.getSize(), size
+            ));
+        }
+        for (final long[][] directionLines : lines) {
+            for (final long[] signLines : directionLines) {
+                Arrays.fill(signLines, 0);
+            }
+        }
+        final int cellCount = size * size;
+        for (int cell = 0; cell < cellCount; cell++) {
+            final Sign sign = gameTable.getSign(cell);
+            if (sign != EMPTY) {
+                setBits(cell, sign.ordinal());
+            }
+        }
+        totalScores[X.ordinal()] = 0;
+        totalScores[O.ordinal()] = 0;
+        for (int direction = 0; direction < lines.length; direction++) {
+            for (int line = 0; line < lines[direction][0].length; line++) {
+                updateLineScore(direction, line);
+            }
+        }
+    }
+
+    public void setSign(final int cellIndex, final Sign sign) {
+        final int row = cellIndex / size;
+        final int col = cellIndex % size;
+        clearBits(cellIndex, X.ordinal());
+        clearBits(cellIndex, O.ordinal());
+        if (sign != EMPTY) {
+            setBits(cellIndex, sign.ordinal());
+        }
+        updateLineScore(0, row);
+        updateLineScore(1, col);
+        updateLineScore(2, row - col + size - 1);
+        updateLineScore(3, row + col);
+    }
+
+    /**
+     * @return the score of the own lines minus the score of the opponent lines
+     */
+    public int getScore(final Sign sign) {
+        return totalScores[sign.ordinal()] - totalScores[sign.oppositeSign().ordinal()];
+    }
+
+    /**
+     * Scores the move for the move ordering without changing the evaluator: only the patterns through the cell
+     * are rescored.
+     *
+     * @return the growth of the score of the sign if the sign is placed to the empty cell plus the growth of
+     * the opponent score if the opponent sign is placed to the cell
+     */
+    public int getMoveScore(final int cellIndex, final Sign sign) {
+        final int row = cellIndex / size;
+        final int col = cellIndex % size;
+        return getMoveScore(0, row, col, sign) +
+                getMoveScore(1, col, row, sign) +
+                getMoveScore(2, row - col + size - 1, row, sign) +
+                getMoveScore(3, row + col, row, sign);
+    }
+
+    private int getMoveScore(final int direction, final int line, final int bit, final Sign sign) {
+        final int start = getLineStart(direction, line);
+        final int length = getLineLength(direction, line);
+        final int position = bit - start;
+        final long own = lines[direction][sign.ordinal()][line] >>> start;
+        final long opponent = lines[direction][sign.oppositeSign().ordinal()][line] >>> start;
+        final long cell = 1L << position;
+        final int ownScore = LinePatternTable.getCellScore(own, opponent, length, position);
+        final int opponentScore = LinePatternTable.getCellScore(opponent, own, length, position);
+        final int attack = LinePatternTable.getCellScore(own | cell, opponent, length, position) - ownScore +
+                opponentScore - LinePatternTable.getCellScore(opponent, own | cell, length, position);
+        final int defense = LinePatternTable.getCellScore(opponent | cell, own, length, position) - opponentScore +
+                ownScore - LinePatternTable.getCellScore(own, opponent | cell, length, position);
+        return attack + defense;
+    }
+
+    private void setBits(final int cellIndex, final int index) {
+        final int row = cellIndex / size;
+        final int col = cellIndex % size;
+        lines[0][index][row] |= 1L << col;
+        lines[1][index][col] |= 1L << row;
+        lines[2][index][row - col + size - 1] |= 1L << row;
+        lines[3][index][row + col] |= 1L << row;
+    }
+
+    private void clearBits(final int cellIndex, final int index) {
+        final int row = cellIndex / size;
+        final int col = cellIndex % size;
+        lines[0][index][row] &= ~(1L << col);
+        lines[1][index][col] &= ~(1L << row);
+        lines[2][index][row - col + size - 1] &= ~(1L << row);
+        lines[3][index][row + col] &= ~(1L << row);
+    }
+
+    private void updateLineScore(final int direction, final int line) {
+        final int start = getLineStart(direction, line);
+        final int length = getLineLength(direction, line);
+        final long x = lines[direction][X.ordinal()][line] >>> start;
+        final long o = lines[direction][O.ordinal()][line] >>> start;
+        updateLineScore(direction, X.ordinal(), line, LinePatternTable.getLineScore(x, o, length));
+        updateLineScore(direction, O.ordinal(), line, LinePatternTable.getLineScore(o, x, length));
+    }
+
+    /**
+     * The rows and columns start at bit 0, the diagonals start at the bit of their first row
+     */
+    private int getLineStart(final int direction, final int line) {
+        return direction < 2 ? 0 : Math.max(0, line - size + 1);
+    }
+
+    private int getLineLength(final int direction, final int line) {
+        return direction < 2 ? size : Math.min(line, 2 * size - 2 - line) + 1;
+    }
+
+    private void updateLineScore(final int direction, final int index, final int line, final int score) {
+        totalScores[index] += score - lineScores[direction][index][line];
+        lineScores[direction][index][line] = score;
+    }
+}
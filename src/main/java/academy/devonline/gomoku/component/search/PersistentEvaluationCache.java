@@ -0,0 +1,355 @@
+/*
+ * Copyright (c) 2019. http://devonline.academy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package academy.devonline.gomoku.component.search;
+
+import academy.devonline.gomoku.model.game.GameTable;
+import academy.devonline.gomoku.model.game.Sign;
+import academy.devonline.gomoku.model.game.Symmetries;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static academy.devonline.gomoku.model.game.GameTable.NO_CELL;
+
+/**
+ * The cache of the root search results (best move, score and depth), which is stored in the file and
+ * reused between launches.
+ * <p>
+ * The file is a fixed-size hash table memory-mapped on the first access, so the startup does not read the file
+ * and the operating system loads only the probed pages. The table is divided into buckets of
+ * {@code BUCKET_SIZE} slots. Each slot is two {@code long} values as in {@link TranspositionTable}:
+ * the key XOR-ed with the entry and the entry:
+ * <pre>
+ *  bits  0..15 - best move cell index + 1 in the canonical form of the position
+ *  bits 16..47 - score
+ *  bits 48..55 - depth
+ * </pre>
+ * The key is the Zobrist hash of the canonical form of the position (see {@link Symmetries}) combined with
+ * the sign to move, so the symmetric positions share the entry.
+ * <p>
+ * The size of the file is bounded by the capacity: if the bucket is full, the shallowest entry is evicted.
+ * The entries are stored by the write-behind thread, so the search thread does not wait for the disk.
+ * The probes do not use locks: if the slot is changed during the probe, the key verification fails.
+ *
+ * @author devonline
+ * @link http://devonline.academy/java
+ */
+public class PersistentEvaluationCache implements AutoCloseable {
+
+    public static final int DEFAULT_CAPACITY = 1 << 20;
+
+    private static final int MAGIC = 0x474D4B43;
+
+    private static final int VERSION = 1;
+
+    private static final int HEADER_SIZE = 64;
+
+    private static final int SLOT_SIZE = 2 * Long.BYTES;
+
+    private static final int BUCKET_SIZE = 4;
+
+    private static final int MAX_CAPACITY = 1 << 26;
+
+    private static final int MAX_DEPTH = 0xFF;
+
+    private static final int QUEUE_CAPACITY = 1024;
+
+    private static final long O_TO_MOVE_KEY = 0x3C6EF372FE94F82BL;
+
+    private final Path path;
+
+    private final int requestedCapacity;
+
+    private final BlockingQueue<long[]> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder stores = new LongAdder();
+
+    private final LongAdder drops = new LongAdder();
+
+    private volatile MappedByteBuffer buffer;
+
+    private int bucketMask;
+
+    private Thread writer;
+
+    private volatile boolean closed;
+
+    /**
+     * @param capacity the count of entries of the new file. The capacity of the existing file is not changed
+     */
+    public PersistentEvaluationCache(final Path path, final int capacity) {
+        if (capacity < BUCKET_SIZE || capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Invalid evaluation cache capacity: " + capacity);
+        }
+        this.path = path;
+        this.requestedCapacity = capacity;
+    }
+
+    /**
+     * @return the best move for the specified sign, which was found by the search with at least
+     * the specified depth, or {@link GameTable#NO_CELL} if the cache does not contain such a result
+     */
+    public int findBestMove(final GameTable gameTable, final Sign sign, final int minDepth) {
+        final int symmetry = Symmetries.getCanonicalSymmetry(gameTable);
+        final long entry = probe(getKey(gameTable, sign, symmetry));
+        if (entry == 0 || getDepth(entry) < minDepth) {
+            misses.increment();
+            return NO_CELL;
+        }
+        final int move = Symmetries.inverseTransform(gameTable.getSize(), symmetry, getBestMove(entry));
+        if (move < gameTable.getSize() * gameTable.getSize() && gameTable.isEmpty(move)) {
+            hits.increment();
+            return move;
+        } else {
+            misses.increment();
+            return NO_CELL;
+        }
+    }
+
+    /**
+     * Queues the search result for the write-behind thread. The result is dropped if the queue is full or
+     * the cache is closed
+     */
+    public void store(final GameTable gameTable,
+                      final Sign sign,
+                      final int bestMove,
+                      final int score,
+                      final int depth) {
+        if (bestMove == NO_CELL) {
+            return;
+        }
+        final int symmetry = Symmetries.getCanonicalSymmetry(gameTable);
+        final long key = getKey(gameTable, sign, symmetry);
+        final int canonicalMove = Symmetries.transform(gameTable.getSize(), symmetry, bestMove);
+        final long entry = (canonicalMove + 1L) & 0xFFFF |
+                (score & 0xFFFFFFFFL) << 16 |
+                (long) Math.min(depth, MAX_DEPTH) << 48;
+        final boolean queued;
+        // close() sets the flag under the same lock, so the entry is never queued after the writer is stopped
+        synchronized (this) {
+            if (closed) {
+                queued = false;
+            } else {
+                startWriter();
+                queued = queue.offer(new long[]{key, entry});
+            }
+        }
+        if (queued) {
+            stores.increment();
+        } else {
+            drops.increment();
+        }
+    }
+
+    /**
+     * Writes the queued entries and flushes the mapped file to the disk
+     */
+    @Override
+    public void close() {
+        final Thread thread;
+        synchronized (this) {
+            closed = true;
+            thread = writer;
+        }
+        if (thread != null) {
+            thread.interrupt();
+            try {
+                thread.join();
+            } catch (final InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        final MappedByteBuffer mappedBuffer = buffer;
+        if (mappedBuffer != null) {
+            mappedBuffer.force();
+        }
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getStores() {
+        return stores.sum();
+    }
+
+    /**
+     * @return the count of results, which were not stored, because the write-behind queue was full or the cache
+     * was closed
+     */
+    public long getDrops() {
+        return drops.sum();
+    }
+
+    private static long getKey(final GameTable gameTable, final Sign sign, final int symmetry) {
+        final long hash = Symmetries.getHash(gameTable, symmetry);
+        return sign == Sign.O ? hash ^ O_TO_MOVE_KEY : hash;
+    }
+
+    private long probe(final long key) {
+        final MappedByteBuffer mappedBuffer = getBuffer();
+        final int bucketOffset = getBucketOffset(key);
+        for (int i = 0; i < BUCKET_SIZE; i++) {
+            final int offset = bucketOffset + i * SLOT_SIZE;
+            final long entry = mappedBuffer.getLong(offset + Long.BYTES);
+            if (entry != 0 && (mappedBuffer.getLong(offset) ^ entry) == key) {
+                return entry;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Is invoked by the write-behind thread only
+     */
+    private void write(final long key, final long entry) {
+        final MappedByteBuffer mappedBuffer = getBuffer();
+        final int bucketOffset = getBucketOffset(key);
+        int targetOffset = -1;
+        int targetDepth = Integer.MAX_VALUE;
+        for (int i = 0; i < BUCKET_SIZE; i++) {
+            final int offset = bucketOffset + i * SLOT_SIZE;
+            final long storedEntry = mappedBuffer.getLong(offset + Long.BYTES);
+            if (storedEntry != 0 && (mappedBuffer.getLong(offset) ^ storedEntry) == key) {
+                if (getDepth(storedEntry) > getDepth(entry)) {
+                    return;
+                }
+                targetOffset = offset;
+                break;
+            }
+            final int depth = storedEntry == 0 ? -1 : getDepth(storedEntry);
+            if (depth < targetDepth) {
+                targetDepth = depth;
+                targetOffset = offset;
+            }
+        }
+        mappedBuffer.putLong(targetOffset + Long.BYTES, entry);
+        mappedBuffer.putLong(targetOffset, key ^ entry);
+    }
+
+    private int getBucketOffset(final long key) {
+        return HEADER_SIZE + ((int) key & bucketMask) * BUCKET_SIZE * SLOT_SIZE;
+    }
+
+    private MappedByteBuffer getBuffer() {
+        MappedByteBuffer mappedBuffer = buffer;
+        if (mappedBuffer == null) {
+            synchronized (this) {
+                mappedBuffer = buffer;
+                if (mappedBuffer == null) {
+                    mappedBuffer = map();
+                    buffer = mappedBuffer;
+                }
+            }
+        }
+        return mappedBuffer;
+    }
+
+    private MappedByteBuffer map() {
+        try (FileChannel channel = FileChannel.open(
+                path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            final int capacity;
+            if (channel.size() == 0) {
+                capacity = Integer.highestOneBit(requestedCapacity);
+                final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+                header.putInt(MAGIC).putInt(VERSION).putInt(capacity).flip();
+                channel.write(header, 0);
+                // the slots are zero-filled by the operating system
+                channel.write(ByteBuffer.allocate(1), HEADER_SIZE + (long) capacity * SLOT_SIZE - 1);
+            } else {
+                final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+                channel.read(header, 0);
+                header.flip();
+                if (header.remaining() < HEADER_SIZE || header.getInt() != MAGIC || header.getInt() != VERSION) {
+                    throw new IOException("Invalid evaluation cache file: " + path);
+                }
+                capacity = header.getInt();
+                if (capacity < BUCKET_SIZE || capacity > MAX_CAPACITY || Integer.bitCount(capacity) != 1 ||
+                        channel.size() < HEADER_SIZE + (long) capacity * SLOT_SIZE) {
+                    throw new IOException("Corrupted evaluation cache file: " + path);
+                }
+            }
+            bucketMask = capacity / BUCKET_SIZE - 1;
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + (long) capacity * SLOT_SIZE);
+        } catch (final IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    private synchronized void startWriter() {
+        if (writer == null) {
+            writer = new Thread(this::writeBehind, "evaluation-cache-writer");
+            writer.setDaemon(true);
+            writer.start();
+        }
+    }
+
+    private void writeBehind() {
+        while (true) {
+            final long[] item;
+            try {
+                item = closed ? queue.poll() : queue.poll(1, TimeUnit.SECONDS);
+            } catch (final InterruptedException exception) {
+                // close() interrupts the waiting, so the remaining entries are written without waiting
+                continue;
+            }
+            if (item != null) {
+                write(item[0], item[1]);
+            } else if (closed) {
+                return;
+            }
+        }
+    }
+
+    private static int getBestMove(final long entry) {
+        final int move = (int) (entry & 0xFFFF);
+        return move == 0 ? NO_CELL : move - 1;
+    }
+
+    private static int getDepth(final long entry) {
+        return (int) (entry >>> 48) & MAX_DEPTH;
+    }
+
+    @Override
+    public String toString() {
+        return "PersistentEvaluationCache{" +
+                "path=" + path +
+                ", hits=" + getHits() +
+                ", misses=" + getMisses() +
+                ", stores=" + getStores() +
+                ", drops=" + getDrops() +
+                '}';
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2019. http://devonline.academy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package academy.devonline.gomoku.component.search;
+
+import academy.devonline.gomoku.model.game.Sign;
+import academy.devonline.gomoku.model.game.SparseGameTable;
+
+import java.util.PrimitiveIterator;
+
+import static academy.devonline.gomoku.Constants.WIN_COMBINATION_SIZE;
+import static academy.devonline.gomoku.component.search.LinePatternTable.PATTERN_LENGTH;
+
+/**
+ * One-ply move search for the unbounded game table ({@link SparseGameTable}).
+ * <p>
+ * Only the candidate moves near the signs are evaluated, so the cost of the search depends on the count of
+ * the signs and does not depend on the size of the table. The move is selected in the following order:
+ * <ul>
+ *     <li>the move, which makes the win combination;</li>
+ *     <li>the move, which blocks the win combination of the opponent;</li>
+ *     <li>the move with the max sum of the attack and defense scores: the growth of the {@link LinePatternTable}
+ *     scores of the patterns through the move, if the move is made by the own sign or by the opponent sign.</li>
+ * </ul>
+ * The instance is stateless and thread-safe.
+ *
+ * @author devonline
+ * @link http://devonline.academy/java
+ */
+public class SparseMoveSearch {
+
+    private static final int[][] DIRECTIONS = {{0, 1}, {1, 0}, {1, 1}, {1, -1}};
+
+    /**
+     * The patterns through the cell start from {@code -(PATTERN_LENGTH - 1)} and end at {@code PATTERN_LENGTH - 1}
+     */
+    private static final int RADIUS = PATTERN_LENGTH - 1;
+
+    private static final int CENTER_BIT = 1 << RADIUS;
+
+    private static final int PATTERN_MASK = (1 << PATTERN_LENGTH) - 1;
+
+    /**
+     * The first move is made to the origin of the table
+     *
+     * @return the key of the best move (see {@link SparseGameTable#getKey(int, int)})
+     */
+    public long findBestMove(final SparseGameTable gameTable, final Sign sign) {
+        if (gameTable.getMoveCount() == 0) {
+            return SparseGameTable.getKey(0, 0);
+        }
+        final Sign opponent = sign.oppositeSign();
+        long blockingMove = 0;
+        boolean blockingMoveFound = false;
+        long bestMove = 0;
+        long bestScore = Long.MIN_VALUE;
+        final PrimitiveIterator.OfLong iterator = gameTable.candidateIterator();
+        while (iterator.hasNext()) {
+            final long key = iterator.nextLong();
+            final int row = SparseGameTable.getRow(key);
+            final int col = SparseGameTable.getCol(key);
+            long attack = 0;
+            long defense = 0;
+            for (final int[] direction : DIRECTIONS) {
+                int own = 0;
+                int opponentBits = 0;
+                for (int offset = -RADIUS; offset <= RADIUS; offset++) {
+                    final Sign cellSign = gameTable.getSign(row + offset * direction[0], col + offset * direction[1]);
+                    if (cellSign == sign) {
+                        own |= 1 << offset + RADIUS;
+                    } else if (cellSign == opponent) {
+                        opponentBits |= 1 << offset + RADIUS;
+                    }
+                }
+                attack += getScoreGrowth(own, opponentBits);
+                defense += getScoreGrowth(opponentBits, own);
+            }
+            if (attack >= LinePatternTable.FIVE) {
+                return key;
+            }
+            if (!blockingMoveFound && defense >= LinePatternTable.FIVE) {
+                blockingMove = key;
+                blockingMoveFound = true;
+            }
+            final long score = attack + defense;
+            if (score > bestScore) {
+                bestScore = score;
+                bestMove = key;
+            }
+        }
+        return blockingMoveFound ? blockingMove : bestMove;
+    }
+
+    /**
+     * @param own     the bits of the own signs in the line through the empty cell: bit {@code RADIUS} is the cell
+     * @param blocked the bits of the opponent signs in the line
+     * @return the difference between the scores of the patterns through the cell with and without the own sign
+     */
+    private static int getScoreGrowth(final int own, final int blocked) {
+        int growth = 0;
+        for (int start = 0; start + WIN_COMBINATION_SIZE <= 2 * RADIUS; start++) {
+            final int patternOwn = own >>> start & PATTERN_MASK;
+            final int patternBlocked = blocked >>> start & PATTERN_MASK;
+            growth += LinePatternTable.getScore(patternOwn | CENTER_BIT >>> start, patternBlocked) -
+                    LinePatternTable.getScore(patternOwn, patternBlocked);
+        }
+        return growth;
+    }
+}
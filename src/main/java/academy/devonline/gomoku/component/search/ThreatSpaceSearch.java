@@ -0,0 +1,279 @@
+/*
+ * Copyright (c) 2019. http://devonline.academy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package academy.devonline.gomoku.component.search;
+
+import academy.devonline.gomoku.model.game.GameTable;
+import academy.devonline.gomoku.model.game.Sign;
+import academy.devonline.gomoku.model.game.WinCombinationIndex;
+import academy.devonline.gomoku.model.game.WinCombinations;
+
+import java.util.Arrays;
+
+import static academy.devonline.gomoku.Constants.WIN_COMBINATION_SIZE;
+import static academy.devonline.gomoku.component.search.NegamaxSearch.NO_DEADLINE;
+import static academy.devonline.gomoku.model.game.GameTable.NO_CELL;
+
+/**
+ * Threat-space search for the victory by continuous fours (VCF).
+ * <p>
+ * The attacker plays only the moves, which make a four (the win combination with one empty cell), so the defender
+ * has the only reply: to block the empty cell. The attacker wins if a move makes two fours with different empty
+ * cells or makes a five. The search gives up on the branch if the defender is able to make a five, so the found
+ * sequence is always a forced win, but not every forced win is found.
+ * <p>
+ * The same position is often reached by the different orders of fours, so the hashes of the positions, where
+ * the attacker has no VCF, are cached during the search.
+ * <p>
+ * The search plays and retracts moves directly on the game table, so the game table must not be used by
+ * other threads during the search. The instance is not thread-safe.
+ *
+ * @author devonline
+ * @link http://devonline.academy/java
+ */
+public class ThreatSpaceSearch {
+
+    private static final int MAX_DEPTH = 32;
+
+    private static final int FAILED_POSITION_CACHE_CAPACITY = 1 << 14;
+
+    private static final int TIME_CHECK_INTERVAL = 256;
+
+    private final int maxDepth;
+
+    /**
+     * {@code candidates[depth]} contains the attacker moves at the specified depth
+     */
+    private final int[][] candidates;
+
+    /**
+     * Bit set of the cells added to {@code candidates[depth]} to skip duplicates
+     */
+    private final long[][] candidateBits;
+
+    /**
+     * {@code failedPositions[hash & (capacity - 1)]} contains the hash of the position without VCF for the attacker
+     */
+    private final long[] failedPositions = new long[FAILED_POSITION_CACHE_CAPACITY];
+
+    private long nodeBudget;
+
+    private long nodeCount;
+
+    private long deadlineInNanos;
+
+    public ThreatSpaceSearch() {
+        this(MAX_DEPTH);
+    }
+
+    public ThreatSpaceSearch(final int maxDepth) {
+        if (maxDepth <= 0 || maxDepth > MAX_DEPTH) {
+            throw new IllegalArgumentException(String.format(
+                    "Invalid max depth: %s! The max depth must be between 1 and %s!", maxDepth, MAX_DEPTH
+            ));
+        }
+        this.maxDepth = maxDepth;
+        this.candidates = new int[maxDepth][];
+        this.candidateBits = new long[maxDepth][];
+    }
+
+    /**
+     * @param nodeBudget the max count of moves played during the search
+     * @return the first move of the forced win sequence for the specified sign or {@link GameTable#NO_CELL}
+     * if the sequence is not found within the node budget
+     */
+    public int findWinningMove(final GameTable gameTable, final Sign sign, final long nodeBudget) {
+        return findWinningMove(gameTable, sign, nodeBudget, NO_DEADLINE);
+    }
+
+    /**
+     * @param nodeBudget      the max count of moves played during the search
+     * @param deadlineInNanos the {@link System#nanoTime()} value, after which the search is stopped
+     * @return the first move of the forced win sequence for the specified sign or {@link GameTable#NO_CELL}
+     * if the sequence is not found within the node budget and the deadline
+     */
+    public int findWinningMove(final GameTable gameTable,
+                               final Sign sign,
+                               final long nodeBudget,
+                               final long deadlineInNanos) {
+        this.nodeBudget = nodeBudget;
+        this.deadlineInNanos = deadlineInNanos;
+        this.nodeCount = 0;
+        ensureCapacity(gameTable.getSize() * gameTable.getSize());
+        Arrays.fill(failedPositions, 0);
+        final int five = findFive(gameTable, sign);
+        if (five != NO_CELL) {
+            return five;
+        }
+        if (hasFour(gameTable, sign.oppositeSign())) {
+            return NO_CELL;
+        }
+        return search(gameTable, sign, 0);
+    }
+
+    /**
+     * @return the count of moves played during the last search
+     */
+    public long getNodeCount() {
+        return nodeCount;
+    }
+
+    private void ensureCapacity(final int cellCount) {
+        if (candidates[0] == null || candidates[0].length < cellCount) {
+            for (int i = 0; i < maxDepth; i++) {
+                candidates[i] = new int[cellCount];
+                candidateBits[i] = new long[(cellCount + Long.SIZE - 1) / Long.SIZE];
+            }
+        }
+    }
+
+    /**
+     * The attacker has no five and the defender has no four
+     *
+     * @return the attacker move, which wins by continuous fours, or {@link GameTable#NO_CELL}
+     */
+    private int search(final GameTable gameTable, final Sign attacker, final int depth) {
+        if (depth == maxDepth) {
+            return NO_CELL;
+        }
+        final long hash = gameTable.getHash();
+        final int cacheIndex = (int) hash & (FAILED_POSITION_CACHE_CAPACITY - 1);
+        if (failedPositions[cacheIndex] == hash) {
+            return NO_CELL;
+        }
+        final Sign defender = attacker.oppositeSign();
+        final int candidateCount = collectFourMoves(gameTable, attacker, depth);
+        for (int i = 0; i < candidateCount && hasBudget(); i++) {
+            final int move = candidates[depth][i];
+            gameTable.makeMove(move, attacker);
+            nodeCount++;
+            final boolean win = isWinningFour(gameTable, attacker, defender, depth);
+            gameTable.unmakeMove();
+            if (win) {
+                return move;
+            }
+        }
+        if (hasBudget()) {
+            failedPositions[cacheIndex] = hash;
+        }
+        return NO_CELL;
+    }
+
+    /**
+     * Stops the search by reducing the node budget if the deadline has passed or the thread is interrupted
+     */
+    private boolean hasBudget() {
+        if (nodeCount % TIME_CHECK_INTERVAL == 0 && nodeCount > 0 && (Thread.currentThread().isInterrupted() ||
+                deadlineInNanos != NO_DEADLINE && System.nanoTime() >= deadlineInNanos)) {
+            nodeBudget = nodeCount;
+        }
+        return nodeCount < nodeBudget;
+    }
+
+    /**
+     * The attacker has just made a four
+     */
+    private boolean isWinningFour(final GameTable gameTable,
+                                  final Sign attacker,
+                                  final Sign defender,
+                                  final int depth) {
+        final WinCombinationIndex index = gameTable.getWinCombinationIndex();
+        if (index.getCombinationCount(defender, WIN_COMBINATION_SIZE - 1) > 0) {
+            // the defender makes a five instead of blocking
+            return false;
+        }
+        final int block = findFive(gameTable, attacker);
+        if (block == NO_CELL) {
+            return false;
+        }
+        if (hasOtherFive(gameTable, attacker, block)) {
+            return true;
+        }
+        gameTable.makeMove(block, defender);
+        nodeCount++;
+        final boolean win = !hasFour(gameTable, defender) && search(gameTable, attacker, depth + 1) != NO_CELL;
+        gameTable.unmakeMove();
+        return win;
+    }
+
+    /**
+     * @return the count of cells, which make a four for the specified sign, stored to {@code candidates[depth]}
+     */
+    private int collectFourMoves(final GameTable gameTable, final Sign sign, final int depth) {
+        final WinCombinationIndex index = gameTable.getWinCombinationIndex();
+        final WinCombinations winCombinations = index.getWinCombinations();
+        final int[] cells = candidates[depth];
+        final long[] bits = candidateBits[depth];
+        int count = 0;
+        final int combinationCount = index.getCombinationCount(sign, WIN_COMBINATION_SIZE - 2);
+        for (int i = 0; i < combinationCount; i++) {
+            final int combination = index.getCombination(sign, WIN_COMBINATION_SIZE - 2, i);
+            for (int k = 0; k < WIN_COMBINATION_SIZE; k++) {
+                final int cell = winCombinations.getCell(combination, k);
+                if (gameTable.isEmpty(cell) && (bits[cell >>> 6] & 1L << cell) == 0) {
+                    bits[cell >>> 6] |= 1L << cell;
+                    cells[count++] = cell;
+                }
+            }
+        }
+        for (int i = 0; i < count; i++) {
+            bits[cells[i] >>> 6] &= ~(1L << cells[i]);
+        }
+        return count;
+    }
+
+    private static boolean hasFour(final GameTable gameTable, final Sign sign) {
+        return gameTable.getWinCombinationIndex().getCombinationCount(sign, WIN_COMBINATION_SIZE - 1) > 0;
+    }
+
+    /**
+     * @return the empty cell, which makes a five for the specified sign, or {@link GameTable#NO_CELL}
+     */
+    private static int findFive(final GameTable gameTable, final Sign sign) {
+        final WinCombinationIndex index = gameTable.getWinCombinationIndex();
+        if (index.getCombinationCount(sign, WIN_COMBINATION_SIZE - 1) > 0) {
+            return findEmptyCell(gameTable, index.getCombination(sign, WIN_COMBINATION_SIZE - 1, 0));
+        } else {
+            return NO_CELL;
+        }
+    }
+
+    /**
+     * @return true if the specified sign is able to make a five using the cell other than the specified one
+     */
+    private static boolean hasOtherFive(final GameTable gameTable, final Sign sign, final int cell) {
+        final WinCombinationIndex index = gameTable.getWinCombinationIndex();
+        final int combinationCount = index.getCombinationCount(sign, WIN_COMBINATION_SIZE - 1);
+        for (int i = 1; i < combinationCount; i++) {
+            if (findEmptyCell(gameTable, index.getCombination(sign, WIN_COMBINATION_SIZE - 1, i)) != cell) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int findEmptyCell(final GameTable gameTable, final int combination) {
+        final WinCombinations winCombinations = gameTable.getWinCombinationIndex().getWinCombinations();
+        for (int k = 0; k < WIN_COMBINATION_SIZE; k++) {
+            final int cell = winCombinations.getCell(combination, k);
+            if (gameTable.isEmpty(cell)) {
+                return cell;
+            }
+        }
+        return NO_CELL;
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2019. http://devonline.academy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package academy.devonline.gomoku.component.search;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import static academy.devonline.gomoku.model.game.GameTable.NO_CELL;
+
+/**
+ * Fixed-size cache of the search results indexed by the Zobrist hash of the position.
+ * <p>
+ * The capacity is rounded up to the power of two, so the slot index is the lowest bits of the hash.
+ * Each slot stores the entry packed into one {@code long} and the full hash XOR-ed with the entry:
+ * <pre>
+ *  bits  0..15 - best move cell index + 1 (0 if there is no best move)
+ *  bits 16..47 - score
+ *  bits 48..55 - depth
+ *  bits 56..57 - bound type: {@link #EXACT}, {@link #LOWER_BOUND} or {@link #UPPER_BOUND}
+ *  bits 58..63 - age of the search, which stored the entry
+ * </pre>
+ * The stored entry is replaced by an entry for other position if the stored one is older or not deeper.
+ * <p>
+ * The table can be shared between search threads without locks: the slot is read and written as two independent
+ * {@code long} values, so if other thread has changed the slot between these operations, the hash verification
+ * fails and the probe reports a collision instead of a wrong entry. {@link #newSearch()} and {@link #clear()} must
+ * not be invoked concurrently with the search.
+ *
+ * @author devonline
+ * @link http://devonline.academy/java
+ */
+public class TranspositionTable {
+
+    public static final long NOT_FOUND = 0;
+
+    public static final int EXACT = 1;
+
+    public static final int LOWER_BOUND = 2;
+
+    public static final int UPPER_BOUND = 3;
+
+    private static final int MAX_DEPTH = 0xFF;
+
+    private static final int MAX_AGE = 0x3F;
+
+    /**
+     * {@code keys[index] = hash ^ entries[index]}
+     */
+    private final long[] keys;
+
+    private final long[] entries;
+
+    private final int mask;
+
+    private int age;
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder collisions = new LongAdder();
+
+    public TranspositionTable(final int capacity) {
+        if (capacity <= 0 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Invalid transposition table capacity: " + capacity);
+        }
+        final int size = Integer.highestOneBit(capacity) == capacity ? capacity : Integer.highestOneBit(capacity) << 1;
+        keys = new long[size];
+        entries = new long[size];
+        mask = size - 1;
+    }
+
+    /**
+     * Must be invoked before each new search, so the entries of the previous searches are replaced first
+     */
+    public void newSearch() {
+        age = (age + 1) & MAX_AGE;
+    }
+
+    /**
+     * @return the packed entry or {@link #NOT_FOUND}. Use static getters to unpack the entry
+     */
+    public long probe(final long hash) {
+        final int index = (int) hash & mask;
+        final long entry = entries[index];
+        if (entry == NOT_FOUND) {
+            misses.increment();
+            return NOT_FOUND;
+        } else if ((keys[index] ^ entry) != hash) {
+            collisions.increment();
+            return NOT_FOUND;
+        } else {
+            hits.increment();
+            return entry;
+        }
+    }
+
+    public void store(final long hash, final int bestMove, final int score, final int depth, final int bound) {
+        final int index = (int) hash & mask;
+        final long entry = entries[index];
+        if (entry == NOT_FOUND || (keys[index] ^ entry) == hash || getAge(entry) != age || getDepth(entry) <= depth) {
+            final long newEntry = pack(bestMove, score, depth, bound, age);
+            entries[index] = newEntry;
+            keys[index] = hash ^ newEntry;
+        }
+    }
+
+    public void clear() {
+        for (int i = 0; i < entries.length; i++) {
+            keys[i] = 0;
+            entries[i] = NOT_FOUND;
+        }
+        hits.reset();
+        misses.reset();
+        collisions.reset();
+    }
+
+    public int getCapacity() {
+        return entries.length;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * @return the count of probes, which found a slot occupied by other position
+     */
+    public long getCollisions() {
+        return collisions.sum();
+    }
+
+    static long pack(final int bestMove, final int score, final int depth, final int bound, final int age) {
+        return (bestMove + 1L) & 0xFFFF |
+                (score & 0xFFFFFFFFL) << 16 |
+                (long) Math.min(depth, MAX_DEPTH) << 48 |
+                (long) bound << 56 |
+                (long) age << 58;
+    }
+
+    /**
+     * @return the best move cell index or {@link academy.devonline.gomoku.model.game.GameTable#NO_CELL}
+     */
+    public static int getBestMove(final long entry) {
+        final int move = (int) (entry & 0xFFFF);
+        return move == 0 ? NO_CELL : move - 1;
+    }
+
+    public static int getScore(final long entry) {
+        return (int) (entry >>> 16);
+    }
+
+    public static int getDepth(final long entry) {
+        return (int) (entry >>> 48) & MAX_DEPTH;
+    }
+
+    public static int getBound(final long entry) {
+        return (int) (entry >>> 56) & 0x3;
+    }
+
+    static int getAge(final long entry) {
+        return (int) (entry >>> 58);
+    }
+
+    @Override
+    public String toString() {
+        return "TranspositionTable{" +
+                "capacity=" + entries.length +
+                ", hits=" + getHits() +
+                ", misses=" + getMisses() +
+                ", collisions=" + getCollisions() +
+                '}';
+    }
+}
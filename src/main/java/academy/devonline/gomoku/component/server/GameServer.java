@@ -0,0 +1,300 @@
+/*
+ * Copyright (c) 2019. http://devonline.academy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package academy.devonline.gomoku.component.server;
+
+import academy.devonline.gomoku.component.CellVerifier;
+import academy.devonline.gomoku.component.ComputerMove;
+import academy.devonline.gomoku.component.DataPrinter;
+import academy.devonline.gomoku.component.Game;
+import academy.devonline.gomoku.component.UserInputReader;
+import academy.devonline.gomoku.component.UserMove;
+import academy.devonline.gomoku.component.WinnerVerifier;
+import academy.devonline.gomoku.component.book.OpeningBook;
+import academy.devonline.gomoku.component.search.PersistentEvaluationCache;
+import academy.devonline.gomoku.model.config.Level;
+import academy.devonline.gomoku.model.game.GameTable;
+import academy.devonline.gomoku.model.game.Player;
+import academy.devonline.gomoku.model.game.Sign;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import static academy.devonline.gomoku.model.game.Sign.O;
+import static academy.devonline.gomoku.model.game.Sign.X;
+
+/**
+ * Hosts USER vs COMPUTER games for many network clients in one JVM.
+ * <p>
+ * The server listens on the loopback interface only. Each connection is a session, which plays {@link Game}
+ * with its own {@link GameTable} in its own thread: the session is {@link UserInputReader} and {@link DataPrinter}
+ * of the game (see {@link SocketSession} for the line protocol). The session thread is virtual if the JVM supports
+ * virtual threads (JDK 21+), otherwise it is a platform thread with the small stack, so the idle session costs
+ * a blocked thread and a socket only.
+ * <p>
+ * The sessions do not own the computer strategies, because the strategies with the search tables are large.
+ * The computer moves are made by the pool of {@link ComputerMove} instances (one instance per CPU core), so the
+ * count of concurrent searches is bounded by the count of cores and does not depend on the count of sessions.
+ *
+ * @author devonline
+ * @link http://devonline.academy/java
+ */
+public class GameServer implements AutoCloseable {
+
+    private static final int BACKLOG = 1024;
+
+    /**
+     * The stack size of the platform session thread: the session thread makes the computer moves
+     */
+    private static final long PLATFORM_THREAD_STACK_SIZE = 512 * 1024;
+
+    private static final long STATISTICS_INTERVAL_IN_SECONDS = 10;
+
+    private final int port;
+
+    private final int size;
+
+    private final DataPrinter dataPrinter;
+
+    private final BlockingQueue<ComputerMove> computerMoves;
+
+    private final WinnerVerifier winnerVerifier = new WinnerVerifier();
+
+    private final CellVerifier cellVerifier = new CellVerifier();
+
+    /**
+     * The sessions are closed by {@link #close()}, because the blocked socket read of the platform thread
+     * is not interrupted
+     */
+    private final Set<SocketSession> activeSessions = ConcurrentHashMap.newKeySet();
+
+    private final AtomicInteger activeSessionCount = new AtomicInteger();
+
+    private final LongAdder sessionCount = new LongAdder();
+
+    private final LongAdder computerMoveCount = new LongAdder();
+
+    private final ExecutorService sessionExecutor;
+
+    private final boolean virtualThreads;
+
+    private volatile ServerSocket serverSocket;
+
+    /**
+     * @param port            the port or 0 to use any free port (see {@link #getPort()})
+     * @param openingBook     the book shared by all sessions or null
+     * @param evaluationCache the cache of the search results shared by all sessions or null
+     * @param dataPrinter     the printer of the server messages and statistics
+     */
+    public GameServer(final int port,
+                      final int size,
+                      final Level level,
+                      final int threadCount,
+                      final long thinkTimeInMillis,
+                      final OpeningBook openingBook,
+                      final PersistentEvaluationCache evaluationCache,
+                      final DataPrinter dataPrinter) {
+        if (port < 0 || port > 0xFFFF) {
+            throw new IllegalArgumentException("Invalid port: " + port);
+        }
+        this.port = port;
+        this.size = size;
+        this.dataPrinter = dataPrinter;
+        final int computerMoveCount = Runtime.getRuntime().availableProcessors();
+        this.computerMoves = new ArrayBlockingQueue<>(computerMoveCount);
+        for (int i = 0; i < computerMoveCount; i++) {
+            computerMoves.add(new ComputerMove(
+                    level.getStrategies(threadCount, openingBook, evaluationCache), 0, thinkTimeInMillis
+            ));
+        }
+        final ExecutorService virtualThreadExecutor = createVirtualThreadExecutor();
+        this.virtualThreads = virtualThreadExecutor != null;
+        this.sessionExecutor = virtualThreads ? virtualThreadExecutor : createPlatformThreadExecutor();
+    }
+
+    /**
+     * {@code Executors.newVirtualThreadPerTaskExecutor()} is invoked by reflection, so the server is compiled
+     * and run by JDK 11 too
+     *
+     * @return the executor or null if the JVM does not support virtual threads
+     */
+    private static ExecutorService createVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (final ReflectiveOperationException exception) {
+            return null;
+        }
+    }
+
+    private static ExecutorService createPlatformThreadExecutor() {
+        final AtomicInteger threadNumber = new AtomicInteger();
+        return Executors.newCachedThreadPool(runnable -> {
+            final Thread thread = new Thread(
+                    null, runnable, "session-" + threadNumber.incrementAndGet(), PLATFORM_THREAD_STACK_SIZE
+            );
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Accepts the connections until {@link #close()}
+     *
+     * @throws IOException if the server socket can't be opened
+     */
+    public void start() throws IOException {
+        try (ServerSocket socket = new ServerSocket(port, BACKLOG, InetAddress.getLoopbackAddress())) {
+            serverSocket = socket;
+            dataPrinter.printInfoMessage(String.format(
+                    "Game server is listening on %s:%s: size=%s, computer moves=%s, session threads=%s",
+                    socket.getInetAddress().getHostAddress(), socket.getLocalPort(), size, computerMoves.size(),
+                    virtualThreads ? "virtual" : "platform"
+            ));
+            final ScheduledExecutorService statisticsPrinter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                final Thread thread = new Thread(runnable, "server-statistics");
+                thread.setDaemon(true);
+                return thread;
+            });
+            statisticsPrinter.scheduleAtFixedRate(this::printStatistics,
+                    STATISTICS_INTERVAL_IN_SECONDS, STATISTICS_INTERVAL_IN_SECONDS, TimeUnit.SECONDS);
+            try {
+                acceptConnections(socket);
+            } finally {
+                statisticsPrinter.shutdownNow();
+            }
+        }
+    }
+
+    private void acceptConnections(final ServerSocket socket) throws IOException {
+        while (!socket.isClosed()) {
+            final Socket connection;
+            try {
+                connection = socket.accept();
+            } catch (final SocketException exception) {
+                if (socket.isClosed()) {
+                    return;
+                }
+                throw exception;
+            }
+            connection.setTcpNoDelay(true);
+            final SocketSession session = new SocketSession(connection, this);
+            activeSessions.add(session);
+            activeSessionCount.incrementAndGet();
+            sessionCount.increment();
+            sessionExecutor.execute(session);
+        }
+    }
+
+    /**
+     * @return the port of the started server or the port specified in the constructor if the server is not started
+     */
+    public int getPort() {
+        final ServerSocket socket = serverSocket;
+        return socket != null ? socket.getLocalPort() : port;
+    }
+
+    /**
+     * Stops the accepting of the connections and closes the sockets of the active sessions, so the sessions waiting
+     * for the client commands are stopped. The sessions waiting for the computer move are interrupted
+     */
+    @Override
+    public void close() throws IOException {
+        final ServerSocket socket = serverSocket;
+        if (socket != null) {
+            socket.close();
+        }
+        sessionExecutor.shutdownNow();
+        for (final SocketSession session : activeSessions) {
+            session.close();
+        }
+    }
+
+    public int getActiveSessionCount() {
+        return activeSessionCount.get();
+    }
+
+    public long getSessionCount() {
+        return sessionCount.sum();
+    }
+
+    public long getComputerMoveCount() {
+        return computerMoveCount.sum();
+    }
+
+    int getSize() {
+        return size;
+    }
+
+    /**
+     * The user plays {@code X}, the computer plays {@code O}, the first player is random
+     */
+    Game createGame(final SocketSession session) {
+        return new Game(
+                size,
+                session,
+                new Player(X, new UserMove(session, session)),
+                new Player(O, this::makeComputerMove),
+                winnerVerifier,
+                cellVerifier,
+                true
+        );
+    }
+
+    void sessionClosed(final SocketSession session) {
+        activeSessions.remove(session);
+        activeSessionCount.decrementAndGet();
+    }
+
+    /**
+     * Waits for the free computer move of the pool, so the session does not occupy the core while waiting
+     */
+    private void makeComputerMove(final GameTable gameTable, final Sign sign) {
+        final ComputerMove computerMove;
+        try {
+            computerMove = computerMoves.take();
+        } catch (final InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new SessionClosedException("Server is stopped", exception);
+        }
+        try {
+            computerMove.make(gameTable, sign);
+            computerMoveCount.increment();
+        } finally {
+            computerMoves.add(computerMove);
+        }
+    }
+
+    private void printStatistics() {
+        dataPrinter.printInfoMessage(String.format(
+                "Sessions: active=%s, total=%s, computer moves=%s",
+                getActiveSessionCount(), getSessionCount(), getComputerMoveCount()
+        ));
+    }
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright (c) 2019. http://devonline.academy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package academy.devonline.gomoku.component.server;
+
+/**
+ * Stops the game of the session, because the client is disconnected or the server is stopped.
+ *
+ * @author devonline
+ * @link http://devonline.academy/java
+ */
+final class SessionClosedException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    SessionClosedException(final String message) {
+        super(message);
+    }
+
+    SessionClosedException(final String message, final Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,223 @@
+/*
+ * Copyright (c) 2019. http://devonline.academy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package academy.devonline.gomoku.component.server;
+
+import academy.devonline.gomoku.component.DataPrinter;
+import academy.devonline.gomoku.component.Game;
+import academy.devonline.gomoku.component.UserInputReader;
+import academy.devonline.gomoku.model.game.GameTable;
+import academy.devonline.gomoku.model.game.Sign;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * The network session of {@link GameServer}, which plays the games with the client until the client disconnects.
+ * <p>
+ * The line protocol (UTF-8, one command per line):
+ * <pre>
+ *  server -> client:
+ *   INFO ${MESSAGE}         - the instructions or the result of the game: "X WIN!", "O WIN!" or "Sorry, DRAW!"
+ *   ERROR ${MESSAGE}        - the invalid command or move, the client must send the command again
+ *   TABLE ${SIZE} ${CELLS}  - the game table: SIZE * SIZE chars 'X', 'O' or '.' row by row
+ *   TURN                    - the server waits for the user command
+ *  client -> server:
+ *   MOVE ${ROW} ${COL}      - the user move, the row and the column start from 1
+ *   UNDO                    - takes back the last move of the user
+ *   QUIT                    - closes the session
+ * </pre>
+ * The user plays {@code X}. The new game starts after the end of the previous one.
+ *
+ * @author devonline
+ * @link http://devonline.academy/java
+ */
+final class SocketSession implements Runnable, UserInputReader, DataPrinter {
+
+    /**
+     * The buffers are small, because the lines are short and the idle sessions must be cheap
+     */
+    private static final int BUFFER_SIZE = 512;
+
+    /**
+     * The longest valid command is {@code MOVE ${ROW} ${COL}}: the session of the client, which sends the longer
+     * line, is closed, so one client can't exhaust the memory of the server
+     */
+    private static final int MAX_LINE_LENGTH = 64;
+
+    private final Socket socket;
+
+    private final GameServer server;
+
+    private final int size;
+
+    private final StringBuilder lineBuilder = new StringBuilder(MAX_LINE_LENGTH);
+
+    private BufferedReader reader;
+
+    private Writer writer;
+
+    SocketSession(final Socket socket, final GameServer server) {
+        this.socket = socket;
+        this.server = server;
+        this.size = server.getSize();
+    }
+
+    @Override
+    @SuppressWarnings("InfiniteLoopStatement")
+    public void run() {
+        try {
+            reader = new BufferedReader(
+                    new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8), BUFFER_SIZE
+            );
+            writer = new BufferedWriter(
+                    new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8), BUFFER_SIZE
+            );
+            final Game game = server.createGame(this);
+            printInstructions();
+            while (true) {
+                game.playNewGame();
+            }
+        } catch (final IOException | SessionClosedException exception) {
+            // the client is disconnected or the server is stopped: the game is abandoned
+        } finally {
+            close();
+            server.sessionClosed(this);
+        }
+    }
+
+    /**
+     * Closes the socket, so the blocked read of the session thread fails
+     */
+    void close() {
+        try {
+            socket.close();
+        } catch (final IOException exception) {
+            // the session is closed anyway
+        }
+    }
+
+    @Override
+    public int getUserInput() {
+        while (true) {
+            println("TURN");
+            final String line = readLine();
+            final String[] values = line.trim().toUpperCase(Locale.ROOT).split("\\s+");
+            if ("MOVE".equals(values[0]) && values.length == 3) {
+                final int cell = getCellIndex(values[1], values[2]);
+                if (cell != GameTable.NO_CELL) {
+                    return cell;
+                }
+                printErrorMessage(String.format(
+                        "Invalid move: '%s'! Use 'MOVE ${ROW} ${COL}', where row and col are between 1 and %s",
+                        line, size
+                ));
+            } else if ("UNDO".equals(values[0]) && values.length == 1) {
+                return UNDO;
+            } else if ("QUIT".equals(values[0]) && values.length == 1) {
+                throw new SessionClosedException("Client quit");
+            } else {
+                printErrorMessage(String.format("Unsupported command: '%s'! Use 'MOVE', 'UNDO' or 'QUIT'", line));
+            }
+        }
+    }
+
+    private int getCellIndex(final String rowValue, final String colValue) {
+        try {
+            final int row = Integer.parseInt(rowValue) - 1;
+            final int col = Integer.parseInt(colValue) - 1;
+            if (row >= 0 && row < size && col >= 0 && col < size) {
+                return row * size + col;
+            }
+        } catch (final NumberFormatException exception) {
+            // the error message is printed by the caller
+        }
+        return GameTable.NO_CELL;
+    }
+
+    @Override
+    public void printInstructions() {
+        printInfoMessage(String.format(
+                "Use 'MOVE ${ROW} ${COL}' to make a move (1..%s), 'UNDO' to take back the move and 'QUIT' to exit",
+                size
+        ));
+    }
+
+    @Override
+    public void printInfoMessage(final String message) {
+        println("INFO " + message);
+    }
+
+    @Override
+    public void printErrorMessage(final String message) {
+        println("ERROR " + message);
+    }
+
+    @Override
+    public void printGameTable(final GameTable gameTable) {
+        final char[] cells = new char[size * size];
+        for (int cell = 0; cell < cells.length; cell++) {
+            final Sign sign = gameTable.getSign(cell);
+            cells[cell] = sign == Sign.EMPTY ? '.' : sign.toString().charAt(0);
+        }
+        println("TABLE " + size + " " + new String(cells));
+    }
+
+    /**
+     * Reads the line terminated by '\n', the '\r' chars are ignored
+     *
+     * @throws SessionClosedException if the client is disconnected or the line is longer than
+     *                                {@value #MAX_LINE_LENGTH} chars
+     */
+    private String readLine() {
+        lineBuilder.setLength(0);
+        try {
+            while (true) {
+                final int ch = reader.read();
+                if (ch == -1) {
+                    throw new SessionClosedException("Client disconnected");
+                } else if (ch == '\n') {
+                    return lineBuilder.toString();
+                } else if (ch != '\r') {
+                    if (lineBuilder.length() == MAX_LINE_LENGTH) {
+                        throw new SessionClosedException("Line is too long");
+                    }
+                    lineBuilder.append((char) ch);
+                }
+            }
+        } catch (final IOException exception) {
+            throw new SessionClosedException("Client disconnected", exception);
+        }
+    }
+
+    private void println(final String line) {
+        try {
+            writer.write(line);
+            writer.write('\n');
+            writer.flush();
+        } catch (final IOException exception) {
+            throw new SessionClosedException("Client disconnected", exception);
+        }
+    }
+}
@@ -18,11 +18,12 @@
 package academy.devonline.gomoku.component.strategy;
 
 import academy.devonline.gomoku.component.ComputerMoveStrategy;
-import academy.devonline.gomoku.model.game.Cell;
 import academy.devonline.gomoku.model.game.GameTable;
 import academy.devonline.gomoku.model.game.Sign;
+import academy.devonline.gomoku.model.game.WinCombinationIndex;
+import academy.devonline.gomoku.model.game.WinCombinations;
 
-import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 
 import static academy.devonline.gomoku.Constants.WIN_COMBINATION_SIZE;
 
@@ -32,6 +33,11 @@ import static academy.devonline.gomoku.Constants.WIN_COMBINATION_SIZE;
  */
 public abstract class AbstractComputerMoveStrategy implements ComputerMoveStrategy {
 
+    /**
+     * The strategy instances are shared between games, so the buffer must be confined to the thread
+     */
+    private static final ThreadLocal<BestCells> BEST_CELLS = ThreadLocal.withInitial(BestCells::new);
+
     private final int expectedCountEmptyCells;
 
     protected AbstractComputerMoveStrategy(final int expectedCountEmptyCells) {
@@ -40,14 +46,10 @@ public abstract class AbstractComputerMoveStrategy implements ComputerMoveStrate
 
     @Override
     public final boolean tryToMakeMove(final GameTable gameTable, final Sign moveSign) {
-        final Sign findSign = getFindSign(moveSign);
-        final BestCells bestCells = new BestCells(gameTable.getSize());
-        findBestCellsForMoveByRows(gameTable, findSign, bestCells);
-        findBestCellsForMoveByCols(gameTable, findSign, bestCells);
-        findBestCellsForMoveByMainDiagonal(gameTable, findSign, bestCells);
-        findBestCellsForMoveBySecondaryDiagonal(gameTable, findSign, bestCells);
+        final BestCells bestCells = BEST_CELLS.get();
+        findBestCellsForMove(gameTable, getFindSign(moveSign), bestCells);
         if (bestCells.count > 0) {
-            final Cell randomCell = bestCells.emptyCells[new Random().nextInt(bestCells.count)];
+            final int randomCell = bestCells.emptyCells[ThreadLocalRandom.current().nextInt(bestCells.count)];
             gameTable.setSign(randomCell, moveSign);
             return true;
         } else {
@@ -55,89 +57,60 @@ public abstract class AbstractComputerMoveStrategy implements ComputerMoveStrate
         }
     }
 
-    private void findBestCellsForMoveByRows(final GameTable gameTable, final Sign findSign, final BestCells bestCells) {
-        findBestCellsForMoveUsingLambdaConversion(gameTable, findSign, bestCells, (i, j, k) -> new Cell(i, j + k));
-    }
-
-    private void findBestCellsForMoveByCols(final GameTable gameTable, final Sign findSign, final BestCells bestCells) {
-        findBestCellsForMoveUsingLambdaConversion(gameTable, findSign, bestCells, (i, j, k) -> new Cell(j + k, i));
-    }
-
-    private void findBestCellsForMoveByMainDiagonal(final GameTable gameTable, final Sign findSign, final BestCells bestCells) {
-        findBestCellsForMoveUsingLambdaConversion(gameTable, findSign, bestCells, (i, j, k) -> new Cell(i + k, j + k));
-    }
-
-    private void findBestCellsForMoveBySecondaryDiagonal(final GameTable gameTable, final Sign findSign, final BestCells bestCells) {
-        findBestCellsForMoveUsingLambdaConversion(gameTable, findSign, bestCells, (i, j, k) -> new Cell(i + k, j - k));
-    }
-
     protected abstract Sign getFindSign(Sign moveSign);
 
-    private void findBestCellsForMoveUsingLambdaConversion(final GameTable gameTable,
-                                                           final Sign findSign,
-                                                           final BestCells bestCells,
-                                                           final Lambda lambda) {
-        for (int i = 0; i < gameTable.getSize(); i++) {
-            for (int j = 0; j < gameTable.getSize(); j++) {
-                final Cell[] localEmptyCells = new Cell[WIN_COMBINATION_SIZE];
-                int index = 0;
-                int countEmptyCells = 0;
-                int countSignCells = 0;
-                for (int k = 0; k < WIN_COMBINATION_SIZE; k++) {
-                    final Cell cell = lambda.convert(i, j, k);
-                    if (gameTable.isValid(cell)) {
-                        if (gameTable.isEmpty(cell)) {
-                            countEmptyCells++;
-                            localEmptyCells[index++] = cell;
-                        } else if (gameTable.getSign(cell) == findSign) {
-                            countSignCells++;
-                        } else {
-                            break;
-                        }
-                    }
-                }
-                if (countEmptyCells == expectedCountEmptyCells &&
-                        countSignCells == WIN_COMBINATION_SIZE - expectedCountEmptyCells) {
-                    for (int l = 0; l < index; l++) {
-                        bestCells.add(localEmptyCells[l]);
-                    }
+    private void findBestCellsForMove(final GameTable gameTable, final Sign findSign, final BestCells bestCells) {
+        bestCells.reset(gameTable.getSize());
+        final WinCombinationIndex index = gameTable.getWinCombinationIndex();
+        final WinCombinations winCombinations = index.getWinCombinations();
+        final int signCount = WIN_COMBINATION_SIZE - expectedCountEmptyCells;
+        final int combinationCount = index.getCombinationCount(findSign, signCount);
+        for (int i = 0; i < combinationCount; i++) {
+            final int combination = index.getCombination(findSign, signCount, i);
+            for (int k = 0; k < WIN_COMBINATION_SIZE; k++) {
+                final int cell = winCombinations.getCell(combination, k);
+                if (gameTable.isEmpty(cell)) {
+                    bestCells.add(cell);
                 }
             }
         }
     }
 
-    /**
-     * @author devonline
-     * @link http://devonline.academy/java
-     */
-    @FunctionalInterface
-    private interface Lambda {
-
-        Cell convert(int i, int j, int k);
-    }
-
     /**
      * @author devonline
      * @link http://devonline.academy/java
      */
     private static class BestCells {
 
-        private final Cell[] emptyCells;
+        private int[] emptyCells = new int[0];
+
+        /**
+         * Bit set of the added cell indexes, which is used to skip duplicates
+         */
+        private long[] added = new long[0];
 
         private int count;
 
-        private BestCells(final int gameTableSize) {
-            emptyCells = new Cell[gameTableSize * gameTableSize];
+        private void reset(final int gameTableSize) {
+            final int cellCount = gameTableSize * gameTableSize;
+            if (emptyCells.length < cellCount) {
+                emptyCells = new int[cellCount];
+                added = new long[(cellCount + Long.SIZE - 1) / Long.SIZE];
+            } else {
+                for (int i = 0; i < count; i++) {
+                    added[emptyCells[i] / Long.SIZE] = 0;
+                }
+            }
+            count = 0;
         }
 
-        private void add(final Cell cell) {
-            for (int i = 0; i < count; i++) {
-                final Cell emptyCell = emptyCells[i];
-                if (emptyCell.getRow() == cell.getRow() && emptyCell.getCol() == cell.getCol()) {
-                    return;
-                }
+        private void add(final int cell) {
+            final long mask = 1L << cell;
+            final int word = cell / Long.SIZE;
+            if ((added[word] & mask) == 0) {
+                added[word] |= mask;
+                emptyCells[count++] = cell;
             }
-            emptyCells[count++] = cell;
         }
     }
 }
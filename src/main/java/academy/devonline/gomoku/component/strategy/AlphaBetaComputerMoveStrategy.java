@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2019. http://devonline.academy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package academy.devonline.gomoku.component.strategy;
+
+import academy.devonline.gomoku.component.TimeLimitedComputerMoveStrategy;
+import academy.devonline.gomoku.component.search.LazySmpSearch;
+import academy.devonline.gomoku.component.search.PersistentEvaluationCache;
+import academy.devonline.gomoku.model.game.GameTable;
+import academy.devonline.gomoku.model.game.Sign;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static academy.devonline.gomoku.model.game.GameTable.NO_CELL;
+
+/**
+ * Makes the best move found by the negamax search with alpha-beta pruning to the configured depth.
+ * If the thread count is greater than one, the search runs in the Lazy SMP parallel mode.
+ * If the deadline is defined, the iterative deepening search is used instead of the search to the configured depth.
+ * If the evaluation cache is defined, the cached result of the search with at least the configured depth is used
+ * instead of the search, and the new search results are stored to the cache.
+ *
+ * @author devonline
+ * @link http://devonline.academy/java
+ */
+public class AlphaBetaComputerMoveStrategy implements TimeLimitedComputerMoveStrategy {
+
+    private static final int TRANSPOSITION_TABLE_CAPACITY = 1 << 18;
+
+    private static final int MAX_CANDIDATES = 12;
+
+    private static final int MAX_ITERATIVE_DEEPENING_DEPTH = 32;
+
+    private final LazySmpSearch search;
+
+    private final int depth;
+
+    private final PersistentEvaluationCache evaluationCache;
+
+    private final AtomicLong searchCount = new AtomicLong();
+
+    private final AtomicLong nodeCount = new AtomicLong();
+
+    private final AtomicLong searchTimeInNanos = new AtomicLong();
+
+    private final AtomicLong completedDepthSum = new AtomicLong();
+
+    private final AtomicLong timeLimitedSearchCount = new AtomicLong();
+
+    private final AtomicLong cacheHitCount = new AtomicLong();
+
+    public AlphaBetaComputerMoveStrategy(final int depth) {
+        this(depth, 1);
+    }
+
+    public AlphaBetaComputerMoveStrategy(final int depth, final int threadCount) {
+        this(depth, threadCount, null);
+    }
+
+    /**
+     * @param evaluationCache the cache shared between strategies and launches or null
+     */
+    public AlphaBetaComputerMoveStrategy(final int depth,
+                                         final int threadCount,
+                                         final PersistentEvaluationCache evaluationCache) {
+        this.depth = depth;
+        this.evaluationCache = evaluationCache;
+        this.search = new LazySmpSearch(threadCount, TRANSPOSITION_TABLE_CAPACITY, MAX_CANDIDATES);
+    }
+
+    @Override
+    public boolean tryToMakeMove(final GameTable gameTable, final Sign sign) {
+        if (tryToMakeCachedMove(gameTable, sign)) {
+            return true;
+        }
+        final long start = System.nanoTime();
+        final int bestMove = search.findBestMove(gameTable, sign, depth);
+        if (search.getCompletedDepth() > 0) {
+            storeToCache(gameTable, sign, bestMove, depth);
+        }
+        return makeMove(gameTable, sign, bestMove, start);
+    }
+
+    @Override
+    public boolean tryToMakeMove(final GameTable gameTable, final Sign sign, final long deadlineInNanos) {
+        if (tryToMakeCachedMove(gameTable, sign)) {
+            return true;
+        }
+        final long start = System.nanoTime();
+        final int bestMove = search.findBestMove(gameTable, sign, MAX_ITERATIVE_DEEPENING_DEPTH, deadlineInNanos);
+        final int completedDepth = search.getCompletedDepth();
+        completedDepthSum.addAndGet(completedDepth);
+        timeLimitedSearchCount.incrementAndGet();
+        if (completedDepth > 0) {
+            storeToCache(gameTable, sign, bestMove, completedDepth);
+        }
+        return makeMove(gameTable, sign, bestMove, start);
+    }
+
+    private boolean tryToMakeCachedMove(final GameTable gameTable, final Sign sign) {
+        if (evaluationCache != null) {
+            final int cachedMove = evaluationCache.findBestMove(gameTable, sign, depth);
+            if (cachedMove != NO_CELL) {
+                gameTable.setSign(cachedMove, sign);
+                cacheHitCount.incrementAndGet();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void storeToCache(final GameTable gameTable, final Sign sign, final int bestMove, final int searchDepth) {
+        if (evaluationCache != null) {
+            evaluationCache.store(gameTable, sign, bestMove, search.getBestScore(), searchDepth);
+        }
+    }
+
+    private boolean makeMove(final GameTable gameTable, final Sign sign, final int bestMove, final long start) {
+        searchTimeInNanos.addAndGet(System.nanoTime() - start);
+        nodeCount.addAndGet(search.getNodeCount());
+        searchCount.incrementAndGet();
+        if (bestMove != NO_CELL) {
+            gameTable.setSign(bestMove, sign);
+            return true;
+        } else {
+            return false;
+        }
+    }
+
+    public long getSearchCount() {
+        return searchCount.get();
+    }
+
+    public long getNodeCount() {
+        return nodeCount.get();
+    }
+
+    public long getNodesPerSecond() {
+        final long nanos = searchTimeInNanos.get();
+        return nanos > 0 ? nodeCount.get() * 1_000_000_000L / nanos : 0;
+    }
+
+    public long getAverageSearchTimeInMillis() {
+        final long count = searchCount.get();
+        return count > 0 ? searchTimeInNanos.get() / count / 1_000_000L : 0;
+    }
+
+    /**
+     * @return the average depth of the completed iterations of the time-limited searches
+     */
+    public double getAverageCompletedDepth() {
+        final long count = timeLimitedSearchCount.get();
+        return count > 0 ? completedDepthSum.get() / (double) count : 0;
+    }
+
+    /**
+     * @return the count of moves, which were taken from the evaluation cache without the search
+     */
+    public long getCacheHitCount() {
+        return cacheHitCount.get();
+    }
+
+    @Override
+    public String toString() {
+        return "AlphaBetaComputerMoveStrategy{" +
+                "depth=" + depth +
+                ", threadCount=" + search.getThreadCount() +
+                ", searchCount=" + getSearchCount() +
+                ", nodeCount=" + getNodeCount() +
+                ", nodesPerSecond=" + getNodesPerSecond() +
+                ", averageSearchTimeInMillis=" + getAverageSearchTimeInMillis() +
+                ", averageCompletedDepth=" + getAverageCompletedDepth() +
+                ", cacheHitCount=" + getCacheHitCount() +
+                '}';
+    }
+}
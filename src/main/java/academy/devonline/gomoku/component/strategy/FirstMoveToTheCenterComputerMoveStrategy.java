@@ -18,7 +18,6 @@
 package academy.devonline.gomoku.component.strategy;
 
 import academy.devonline.gomoku.component.ComputerMoveStrategy;
-import academy.devonline.gomoku.model.game.Cell;
 import academy.devonline.gomoku.model.game.GameTable;
 import academy.devonline.gomoku.model.game.Sign;
 
@@ -30,7 +29,7 @@ public class FirstMoveToTheCenterComputerMoveStrategy implements ComputerMoveStr
 
     @Override
     public boolean tryToMakeMove(final GameTable gameTable, final Sign sign) {
-        final Cell cell = new Cell(gameTable.getSize() / 2, gameTable.getSize() / 2);
+        final int cell = gameTable.getCellIndex(gameTable.getSize() / 2, gameTable.getSize() / 2);
         if (gameTable.isEmpty(cell)) {
             gameTable.setSign(cell, sign);
             return true;
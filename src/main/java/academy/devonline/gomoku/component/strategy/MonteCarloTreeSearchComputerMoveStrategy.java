@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2019. http://devonline.academy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package academy.devonline.gomoku.component.strategy;
+
+import academy.devonline.gomoku.component.TimeLimitedComputerMoveStrategy;
+import academy.devonline.gomoku.component.search.MonteCarloTreeSearch;
+import academy.devonline.gomoku.model.game.GameTable;
+import academy.devonline.gomoku.model.game.Sign;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static academy.devonline.gomoku.model.game.GameTable.NO_CELL;
+
+/**
+ * Makes the most visited move found by the parallel Monte Carlo tree search,
+ * which is bounded by the time budget and by the playout budget. If the deadline is defined, the time until
+ * the deadline is used as the time budget.
+ *
+ * @author devonline
+ * @link http://devonline.academy/java
+ */
+public class MonteCarloTreeSearchComputerMoveStrategy implements TimeLimitedComputerMoveStrategy {
+
+    private final MonteCarloTreeSearch search;
+
+    private final long timeBudgetInMillis;
+
+    private final int playoutBudget;
+
+    private final AtomicLong searchCount = new AtomicLong();
+
+    private final AtomicLong playoutCount = new AtomicLong();
+
+    private final AtomicLong searchTimeInNanos = new AtomicLong();
+
+    public MonteCarloTreeSearchComputerMoveStrategy(final long timeBudgetInMillis,
+                                                    final int playoutBudget,
+                                                    final int threadCount) {
+        this.search = new MonteCarloTreeSearch(threadCount);
+        this.timeBudgetInMillis = timeBudgetInMillis;
+        this.playoutBudget = playoutBudget;
+    }
+
+    @Override
+    public boolean tryToMakeMove(final GameTable gameTable, final Sign sign) {
+        return search(gameTable, sign, timeBudgetInMillis);
+    }
+
+    @Override
+    public boolean tryToMakeMove(final GameTable gameTable, final Sign sign, final long deadlineInNanos) {
+        final long remainingTimeInNanos = Math.max(0, deadlineInNanos - System.nanoTime());
+        return search(gameTable, sign, TimeUnit.NANOSECONDS.toMillis(remainingTimeInNanos));
+    }
+
+    private boolean search(final GameTable gameTable, final Sign sign, final long timeBudgetInMillis) {
+        final long start = System.nanoTime();
+        final int bestMove = search.findBestMove(gameTable, sign, timeBudgetInMillis, playoutBudget);
+        searchTimeInNanos.addAndGet(System.nanoTime() - start);
+        playoutCount.addAndGet(search.getPlayoutCount());
+        searchCount.incrementAndGet();
+        if (bestMove != NO_CELL) {
+            gameTable.setSign(bestMove, sign);
+            return true;
+        } else {
+            return false;
+        }
+    }
+
+    public long getSearchCount() {
+        return searchCount.get();
+    }
+
+    public long getPlayoutCount() {
+        return playoutCount.get();
+    }
+
+    public long getPlayoutsPerSecond() {
+        final long nanos = searchTimeInNanos.get();
+        return nanos > 0 ? playoutCount.get() * 1_000_000_000L / nanos : 0;
+    }
+
+    @Override
+    public String toString() {
+        return "MonteCarloTreeSearchComputerMoveStrategy{" +
+                "timeBudgetInMillis=" + timeBudgetInMillis +
+                ", playoutBudget=" + playoutBudget +
+                ", threadCount=" + search.getThreadCount() +
+                ", searchCount=" + getSearchCount() +
+                ", playoutCount=" + getPlayoutCount() +
+                ", playoutsPerSecond=" + getPlayoutsPerSecond() +
+                '}';
+    }
+}
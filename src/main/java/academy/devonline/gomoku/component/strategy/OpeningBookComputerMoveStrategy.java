@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2019. http://devonline.academy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package academy.devonline.gomoku.component.strategy;
+
+import academy.devonline.gomoku.component.ComputerMoveStrategy;
+import academy.devonline.gomoku.component.book.OpeningBook;
+import academy.devonline.gomoku.model.game.GameTable;
+import academy.devonline.gomoku.model.game.Sign;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static academy.devonline.gomoku.model.game.GameTable.NO_CELL;
+
+/**
+ * Makes the move from the opening book if the position is in the book.
+ * The book is read-only, so the strategy can be shared between players and threads.
+ *
+ * @author devonline
+ * @link http://devonline.academy/java
+ */
+public class OpeningBookComputerMoveStrategy implements ComputerMoveStrategy {
+
+    private final OpeningBook openingBook;
+
+    private final AtomicLong probeCount = new AtomicLong();
+
+    private final AtomicLong hitCount = new AtomicLong();
+
+    private final AtomicLong probeTimeInNanos = new AtomicLong();
+
+    public OpeningBookComputerMoveStrategy(final OpeningBook openingBook) {
+        this.openingBook = openingBook;
+    }
+
+    @Override
+    public boolean tryToMakeMove(final GameTable gameTable, final Sign sign) {
+        final long start = System.nanoTime();
+        final int move = openingBook.findMove(gameTable, sign);
+        probeTimeInNanos.addAndGet(System.nanoTime() - start);
+        probeCount.incrementAndGet();
+        if (move != NO_CELL && move < gameTable.getSize() * gameTable.getSize() && gameTable.isEmpty(move)) {
+            gameTable.setSign(move, sign);
+            hitCount.incrementAndGet();
+            return true;
+        } else {
+            return false;
+        }
+    }
+
+    public long getProbeCount() {
+        return probeCount.get();
+    }
+
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    public long getAverageProbeTimeInNanos() {
+        final long count = probeCount.get();
+        return count > 0 ? probeTimeInNanos.get() / count : 0;
+    }
+
+    @Override
+    public String toString() {
+        return "OpeningBookComputerMoveStrategy{" +
+                "entryCount=" + openingBook.getEntryCount() +
+                ", probeCount=" + getProbeCount() +
+                ", hitCount=" + getHitCount() +
+                ", averageProbeTimeInNanos=" + getAverageProbeTimeInNanos() +
+                '}';
+    }
+}
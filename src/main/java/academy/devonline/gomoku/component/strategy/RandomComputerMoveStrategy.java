@@ -18,13 +18,15 @@
 package academy.devonline.gomoku.component.strategy;
 
 import academy.devonline.gomoku.component.ComputerMoveStrategy;
-import academy.devonline.gomoku.model.game.Cell;
 import academy.devonline.gomoku.model.game.GameTable;
 import academy.devonline.gomoku.model.game.Sign;
 
-import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
+ * Makes a move to the random candidate cell near the existing signs or to the random empty cell
+ * if the game table does not contain candidates.
+ *
  * @author devonline
  * @link http://devonline.academy/java
  */
@@ -32,18 +34,14 @@ public class RandomComputerMoveStrategy implements ComputerMoveStrategy {
 
     @Override
     public boolean tryToMakeMove(final GameTable gameTable, final Sign sign) {
-        final Cell[] emptyCells = new Cell[gameTable.getSize() * gameTable.getSize()];
-        int count = 0;
-        for (int i = 0; i < gameTable.getSize(); i++) {
-            for (int j = 0; j < gameTable.getSize(); j++) {
-                final Cell cell = new Cell(i, j);
-                if (gameTable.isEmpty(cell)) {
-                    emptyCells[count++] = cell;
-                }
-            }
+        final int candidateCount = gameTable.getCandidateCount();
+        if (candidateCount > 0) {
+            gameTable.setSign(gameTable.getCandidate(ThreadLocalRandom.current().nextInt(candidateCount)), sign);
+            return true;
         }
+        final int count = gameTable.getEmptyCellCount();
         if (count > 0) {
-            final Cell randomCell = emptyCells[new Random().nextInt(count)];
+            final int randomCell = gameTable.getEmptyCell(ThreadLocalRandom.current().nextInt(count));
             gameTable.setSign(randomCell, sign);
             return true;
         } else {
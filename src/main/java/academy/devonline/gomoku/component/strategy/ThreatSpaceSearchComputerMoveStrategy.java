@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2019. http://devonline.academy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package academy.devonline.gomoku.component.strategy;
+
+import academy.devonline.gomoku.component.TimeLimitedComputerMoveStrategy;
+import academy.devonline.gomoku.component.search.ThreatSpaceSearch;
+import academy.devonline.gomoku.model.game.GameTable;
+import academy.devonline.gomoku.model.game.Sign;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static academy.devonline.gomoku.component.search.NegamaxSearch.NO_DEADLINE;
+import static academy.devonline.gomoku.model.game.GameTable.NO_CELL;
+
+/**
+ * Makes the first move of the forced win by continuous fours if the threat-space search finds it within
+ * the node budget. The strategy is cheap enough to be the first one in the strategy chain of any level.
+ *
+ * @author devonline
+ * @link http://devonline.academy/java
+ */
+public class ThreatSpaceSearchComputerMoveStrategy implements TimeLimitedComputerMoveStrategy {
+
+    private final ThreatSpaceSearch search = new ThreatSpaceSearch();
+
+    private final long nodeBudget;
+
+    private final AtomicLong searchCount = new AtomicLong();
+
+    private final AtomicLong winCount = new AtomicLong();
+
+    private final AtomicLong nodeCount = new AtomicLong();
+
+    private final AtomicLong searchTimeInNanos = new AtomicLong();
+
+    public ThreatSpaceSearchComputerMoveStrategy(final long nodeBudget) {
+        this.nodeBudget = nodeBudget;
+    }
+
+    @Override
+    public boolean tryToMakeMove(final GameTable gameTable, final Sign sign) {
+        return tryToMakeMove(gameTable, sign, NO_DEADLINE);
+    }
+
+    @Override
+    public synchronized boolean tryToMakeMove(final GameTable gameTable, final Sign sign, final long deadlineInNanos) {
+        final long start = System.nanoTime();
+        final int winningMove = search.findWinningMove(gameTable, sign, nodeBudget, deadlineInNanos);
+        searchTimeInNanos.addAndGet(System.nanoTime() - start);
+        nodeCount.addAndGet(search.getNodeCount());
+        searchCount.incrementAndGet();
+        if (winningMove != NO_CELL) {
+            winCount.incrementAndGet();
+            gameTable.setSign(winningMove, sign);
+            return true;
+        } else {
+            return false;
+        }
+    }
+
+    public long getSearchCount() {
+        return searchCount.get();
+    }
+
+    /**
+     * @return the count of searches, which found the forced win
+     */
+    public long getWinCount() {
+        return winCount.get();
+    }
+
+    public long getNodeCount() {
+        return nodeCount.get();
+    }
+
+    public long getAverageSearchTimeInMicros() {
+        final long count = searchCount.get();
+        return count > 0 ? searchTimeInNanos.get() / count / 1_000L : 0;
+    }
+
+    @Override
+    public String toString() {
+        return "ThreatSpaceSearchComputerMoveStrategy{" +
+                "nodeBudget=" + nodeBudget +
+                ", searchCount=" + getSearchCount() +
+                ", winCount=" + getWinCount() +
+                ", nodeCount=" + getNodeCount() +
+                ", averageSearchTimeInMicros=" + getAverageSearchTimeInMicros() +
+                '}';
+    }
+}
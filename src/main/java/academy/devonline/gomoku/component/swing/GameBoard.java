@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) 2019. http://devonline.academy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package academy.devonline.gomoku.component.swing;
+
+import academy.devonline.gomoku.model.game.GameTable;
+import academy.devonline.gomoku.model.game.Sign;
+
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsEnvironment;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.Toolkit;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import javax.swing.JComponent;
+
+import static academy.devonline.gomoku.model.game.GameTable.NO_CELL;
+
+/**
+ * The game table painted by one component instead of the grid of labels: {@link #setSigns(Sign[])} repaints
+ * only the changed cells, and {@link #paintComponent(Graphics)} paints only the cells intersecting the clip.
+ * The signs are painted as the images, which are rendered once per sign.
+ * <p>
+ * All methods must be invoked on the event dispatch thread.
+ *
+ * @author devonline
+ * @link http://devonline.academy/java
+ */
+final class GameBoard extends JComponent {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final int MAX_CELL_SIZE = 40;
+
+    private static final int MIN_CELL_SIZE = 12;
+
+    /**
+     * The share of the screen height, which is used by the game table
+     */
+    private static final double SCREEN_USAGE = 0.85;
+
+    private final int size;
+
+    private final int cellSize;
+
+    private final Sign[] signs;
+
+    /**
+     * {@code glyphs[sign.ordinal()]}, null until the first painting of the sign
+     */
+    private final BufferedImage[] glyphs = new BufferedImage[Sign.values().length];
+
+    GameBoard(final int size) {
+        this.size = size;
+        this.cellSize = getCellSize(size);
+        this.signs = new Sign[size * size];
+        Arrays.fill(signs, Sign.EMPTY);
+        setPreferredSize(new Dimension(size * cellSize, size * cellSize));
+        setOpaque(true);
+        setBackground(Color.WHITE);
+        setFont(new Font(Font.SERIF, Font.PLAIN, cellSize * 5 / 8));
+    }
+
+    /**
+     * The large game tables (19x19, 50x50) use the smaller cells to fit the screen
+     */
+    private static int getCellSize(final int size) {
+        if (GraphicsEnvironment.isHeadless()) {
+            return MAX_CELL_SIZE;
+        }
+        final int screenHeight = Toolkit.getDefaultToolkit().getScreenSize().height;
+        final int cellSize = (int) (screenHeight * SCREEN_USAGE) / size;
+        return Math.max(MIN_CELL_SIZE, Math.min(MAX_CELL_SIZE, cellSize));
+    }
+
+    /**
+     * @param newSigns the signs indexed by the cell index
+     */
+    void setSigns(final Sign[] newSigns) {
+        for (int cell = 0; cell < signs.length; cell++) {
+            if (signs[cell] != newSigns[cell]) {
+                signs[cell] = newSigns[cell];
+                repaint(getCol(cell) * cellSize, getRow(cell) * cellSize, cellSize, cellSize);
+            }
+        }
+    }
+
+    /**
+     * @return true if the painted game table does not contain the sign in the specified cell
+     */
+    boolean isEmpty(final int cellIndex) {
+        return signs[cellIndex] == Sign.EMPTY;
+    }
+
+    /**
+     * @return the index of the cell under the specified point or {@link GameTable#NO_CELL}
+     */
+    int getCellIndex(final int x, final int y) {
+        final int row = y / cellSize;
+        final int col = x / cellSize;
+        if (x < 0 || y < 0 || row >= size || col >= size) {
+            return NO_CELL;
+        }
+        return row * size + col;
+    }
+
+    @Override
+    protected void paintComponent(final Graphics graphics) {
+        final Rectangle clip = graphics.getClipBounds() != null ?
+                graphics.getClipBounds() :
+                new Rectangle(0, 0, getWidth(), getHeight());
+        graphics.setColor(getBackground());
+        graphics.fillRect(clip.x, clip.y, clip.width, clip.height);
+        final int firstRow = Math.max(0, clip.y / cellSize);
+        final int lastRow = Math.min(size - 1, (clip.y + clip.height - 1) / cellSize);
+        final int firstCol = Math.max(0, clip.x / cellSize);
+        final int lastCol = Math.min(size - 1, (clip.x + clip.width - 1) / cellSize);
+        graphics.setColor(Color.BLACK);
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int col = firstCol; col <= lastCol; col++) {
+                final int x = col * cellSize;
+                final int y = row * cellSize;
+                graphics.drawRect(x, y, cellSize - 1, cellSize - 1);
+                final Sign sign = signs[row * size + col];
+                if (sign != Sign.EMPTY) {
+                    graphics.drawImage(getGlyph(sign), x, y, null);
+                }
+            }
+        }
+    }
+
+    private BufferedImage getGlyph(final Sign sign) {
+        BufferedImage glyph = glyphs[sign.ordinal()];
+        if (glyph == null) {
+            glyph = createGlyph(sign);
+            glyphs[sign.ordinal()] = glyph;
+        }
+        return glyph;
+    }
+
+    private BufferedImage createGlyph(final Sign sign) {
+        final GraphicsConfiguration configuration = getGraphicsConfiguration();
+        final BufferedImage glyph = configuration != null ?
+                configuration.createCompatibleImage(cellSize, cellSize, Transparency.TRANSLUCENT) :
+                new BufferedImage(cellSize, cellSize, BufferedImage.TYPE_INT_ARGB);
+        final Graphics2D graphics = glyph.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            graphics.setFont(getFont());
+            graphics.setColor(getForeground() != null ? getForeground() : Color.BLACK);
+            final FontMetrics metrics = graphics.getFontMetrics();
+            final String text = sign.toString();
+            final int x = (cellSize - metrics.stringWidth(text)) / 2;
+            final int y = (cellSize - metrics.getHeight()) / 2 + metrics.getAscent();
+            graphics.drawString(text, x, y);
+        } finally {
+            graphics.dispose();
+        }
+        return glyph;
+    }
+
+    private int getRow(final int cellIndex) {
+        return cellIndex / size;
+    }
+
+    private int getCol(final int cellIndex) {
+        return cellIndex % size;
+    }
+}
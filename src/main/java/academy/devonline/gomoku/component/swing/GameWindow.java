@@ -19,47 +19,68 @@ package academy.devonline.gomoku.component.swing;
 
 import academy.devonline.gomoku.component.DataPrinter;
 import academy.devonline.gomoku.component.UserInputReader;
-import academy.devonline.gomoku.model.game.Cell;
 import academy.devonline.gomoku.model.game.GameTable;
+import academy.devonline.gomoku.model.game.Sign;
 
-import java.awt.Color;
 import java.awt.Dimension;
-import java.awt.Font;
-import java.awt.GridLayout;
 import java.awt.Toolkit;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
-import javax.swing.BorderFactory;
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicReference;
 import javax.swing.JFrame;
-import javax.swing.JLabel;
 import javax.swing.JOptionPane;
-import javax.swing.SwingConstants;
+import javax.swing.SwingUtilities;
 import javax.swing.UIManager;
 import javax.swing.UnsupportedLookAndFeelException;
 import javax.swing.WindowConstants;
 
 /**
+ * Left click on the cell makes a move, right click on any cell takes back the last move of the user.
+ * <p>
+ * The window is created and changed on the event dispatch thread only, the game runs in other thread:
+ * <ul>
+ *     <li>The clicks are delivered to the game thread through the blocking queue. The clicks are accepted only
+ *     while the game thread waits for the user input, so the clicks made while the computer thinks, a message
+ *     is shown or a new game starts do not become the next moves. The clicks on the occupied cells are
+ *     dropped.</li>
+ *     <li>{@link #printGameTable(GameTable)} copies the signs in the game thread. If the event dispatch thread
+ *     has not painted the previous copy yet, it paints the last one only, so fast games do not flood it.
+ *     The game table is painted by {@link GameBoard}, which repaints only the changed cells.</li>
+ *     <li>The messages are shown by the event dispatch thread, and the game thread waits until the message
+ *     dialog is closed.</li>
+ * </ul>
+ *
  * @author devonline
  * @link http://devonline.academy/java
  */
 public final class GameWindow extends JFrame implements DataPrinter, UserInputReader {
 
-    private static final int FONT_SIZE = 25;
-
-    private static final int CELL_SIZE = 40;
+    private static final long serialVersionUID = 1L;
 
-    private final JLabel[][] cells;
+    private final GameBoard gameBoard;
 
     private final int size;
 
-    private Cell clickedCell;
+    private final BlockingQueue<Integer> userInputs = new LinkedBlockingQueue<>();
+
+    /**
+     * True while the game thread waits for the user input in {@link #getUserInput()}
+     */
+    private volatile boolean waitingForUserInput;
+
+    /**
+     * The last copy of the signs, which is not painted yet, or null
+     */
+    private final AtomicReference<Sign[]> pendingSigns = new AtomicReference<>();
 
-    public GameWindow(final int size) {
+    private GameWindow(final int size) {
         super("Gomoku");
         this.size = size;
-        this.cells = new JLabel[size][size];
+        this.gameBoard = new GameBoard(size);
         setSystemLookAndFeel();
-        setLayout(new GridLayout(size, size));
         createGameTable();
         setDefaultCloseOperation(WindowConstants.EXIT_ON_CLOSE);
         setResizable(false);
@@ -67,6 +88,15 @@ public final class GameWindow extends JFrame implements DataPrinter, UserInputRe
         displayInTheMiddleOfTheScreen();
     }
 
+    /**
+     * Creates the window on the event dispatch thread
+     */
+    public static GameWindow create(final int size) {
+        final GameWindow[] result = new GameWindow[1];
+        invokeAndWait(() -> result[0] = new GameWindow(size));
+        return result[0];
+    }
+
     private void setSystemLookAndFeel() {
         try {
             UIManager.setLookAndFeel(UIManager.getSystemLookAndFeelClassName());
@@ -77,28 +107,21 @@ public final class GameWindow extends JFrame implements DataPrinter, UserInputRe
     }
 
     private void createGameTable() {
-        for (int i = 0; i < size; i++) {
-            for (int j = 0; j < size; j++) {
-                final JLabel label = new JLabel();
-                cells[i][j] = label;
-                label.setPreferredSize(new Dimension(CELL_SIZE, CELL_SIZE));
-                label.setHorizontalAlignment(SwingConstants.CENTER);
-                label.setVerticalAlignment(SwingConstants.CENTER);
-                label.setFont(new Font(Font.SERIF, Font.PLAIN, FONT_SIZE));
-                label.setBorder(BorderFactory.createLineBorder(Color.BLACK));
-                add(label);
-                final Cell cell = new Cell(i, j);
-                label.addMouseListener(new MouseAdapter() {
-                    @Override
-                    public void mouseClicked(final MouseEvent unused) {
-                        synchronized (GameWindow.this) {
-                            clickedCell = cell;
-                            GameWindow.this.notifyAll();
-                        }
-                    }
-                });
+        gameBoard.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(final MouseEvent event) {
+                final int cell = gameBoard.getCellIndex(event.getX(), event.getY());
+                if (!waitingForUserInput || cell == GameTable.NO_CELL) {
+                    return;
+                }
+                if (SwingUtilities.isRightMouseButton(event)) {
+                    userInputs.add(UNDO);
+                } else if (gameBoard.isEmpty(cell)) {
+                    userInputs.add(cell);
+                }
             }
-        }
+        });
+        add(gameBoard);
     }
 
     private void displayInTheMiddleOfTheScreen() {
@@ -109,12 +132,12 @@ public final class GameWindow extends JFrame implements DataPrinter, UserInputRe
 
     @Override
     public void printInfoMessage(final String message) {
-        JOptionPane.showMessageDialog(this, message, "Info", JOptionPane.INFORMATION_MESSAGE);
+        invokeAndWait(() -> JOptionPane.showMessageDialog(this, message, "Info", JOptionPane.INFORMATION_MESSAGE));
     }
 
     @Override
     public void printErrorMessage(final String message) {
-        JOptionPane.showMessageDialog(this, message, "Error", JOptionPane.ERROR_MESSAGE);
+        invokeAndWait(() -> JOptionPane.showMessageDialog(this, message, "Error", JOptionPane.ERROR_MESSAGE));
     }
 
     @Override
@@ -124,23 +147,42 @@ public final class GameWindow extends JFrame implements DataPrinter, UserInputRe
 
     @Override
     public void printGameTable(final GameTable gameTable) {
-        for (int i = 0; i < size; i++) {
-            for (int j = 0; j < size; j++) {
-                cells[i][j].setText(String.valueOf(gameTable.getSign(new Cell(i, j))));
-            }
+        final Sign[] signs = new Sign[size * size];
+        for (int cell = 0; cell < signs.length; cell++) {
+            signs[cell] = gameTable.getSign(cell);
+        }
+        if (pendingSigns.getAndSet(signs) == null) {
+            SwingUtilities.invokeLater(() -> gameBoard.setSigns(pendingSigns.getAndSet(null)));
         }
     }
 
     @Override
-    public Cell getUserInput() {
-        synchronized (this) {
-            try {
-                wait();
-            } catch (final InterruptedException exception) {
-                exception.printStackTrace();
-                System.exit(2);
-            }
+    public int getUserInput() {
+        // the clicks queued after the previous input was taken are stale, e.g. the second click of a double click
+        userInputs.clear();
+        waitingForUserInput = true;
+        try {
+            return userInputs.take();
+        } catch (final InterruptedException exception) {
+            exception.printStackTrace();
+            System.exit(2);
+            return UNDO;
+        } finally {
+            waitingForUserInput = false;
+        }
+    }
+
+    private static void invokeAndWait(final Runnable runnable) {
+        if (SwingUtilities.isEventDispatchThread()) {
+            runnable.run();
+            return;
+        }
+        try {
+            SwingUtilities.invokeAndWait(runnable);
+        } catch (final InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        } catch (final InvocationTargetException exception) {
+            throw new IllegalStateException(exception.getCause().getMessage(), exception.getCause());
         }
-        return clickedCell;
     }
-}
\ No newline at end of file
+}
@@ -18,23 +18,33 @@
 package academy.devonline.gomoku.model.config;
 
 import academy.devonline.gomoku.component.ComputerMoveStrategy;
+import academy.devonline.gomoku.component.book.OpeningBook;
+import academy.devonline.gomoku.component.search.PersistentEvaluationCache;
+import academy.devonline.gomoku.component.strategy.AlphaBetaComputerMoveStrategy;
 import academy.devonline.gomoku.component.strategy.FirstMoveToTheCenterComputerMoveStrategy;
+import academy.devonline.gomoku.component.strategy.MonteCarloTreeSearchComputerMoveStrategy;
+import academy.devonline.gomoku.component.strategy.OpeningBookComputerMoveStrategy;
 import academy.devonline.gomoku.component.strategy.RandomComputerMoveStrategy;
+import academy.devonline.gomoku.component.strategy.ThreatSpaceSearchComputerMoveStrategy;
 import academy.devonline.gomoku.component.strategy.TryPreventUserWinComputerMoveStrategy;
 import academy.devonline.gomoku.component.strategy.TryWinComputerMoveStrategy;
 
+import java.util.function.BiFunction;
+
+import static academy.devonline.gomoku.Constants.DEFAULT_THREAD_COUNT;
+
 /**
  * @author devonline
  * @link http://devonline.academy/java
  */
 public enum Level {
 
-    LEVEL1(new ComputerMoveStrategy[]{
+    LEVEL1((threadCount, evaluationCache) -> new ComputerMoveStrategy[]{
             new FirstMoveToTheCenterComputerMoveStrategy(),
             new RandomComputerMoveStrategy()
     }),
 
-    LEVEL2(new ComputerMoveStrategy[]{
+    LEVEL2((threadCount, evaluationCache) -> new ComputerMoveStrategy[]{
             new TryWinComputerMoveStrategy(1),
             new TryPreventUserWinComputerMoveStrategy(1),
             new TryWinComputerMoveStrategy(2),
@@ -45,15 +55,59 @@ public enum Level {
             new TryPreventUserWinComputerMoveStrategy(4),
             new FirstMoveToTheCenterComputerMoveStrategy(),
             new RandomComputerMoveStrategy()
+    }),
+
+    LEVEL3((threadCount, evaluationCache) -> new ComputerMoveStrategy[]{
+            new ThreatSpaceSearchComputerMoveStrategy(20_000),
+            new AlphaBetaComputerMoveStrategy(4, threadCount, evaluationCache),
+            new RandomComputerMoveStrategy()
+    }),
+
+    LEVEL4((threadCount, evaluationCache) -> new ComputerMoveStrategy[]{
+            new ThreatSpaceSearchComputerMoveStrategy(20_000),
+            new MonteCarloTreeSearchComputerMoveStrategy(1000, 100_000, threadCount),
+            new RandomComputerMoveStrategy()
     });
 
-    private final ComputerMoveStrategy[] strategies;
+    /**
+     * Creates new strategy instances for the specified search thread count and evaluation cache (nullable),
+     * so the strategies with state are not shared between players
+     */
+    private final BiFunction<Integer, PersistentEvaluationCache, ComputerMoveStrategy[]> strategiesFactory;
 
-    Level(final ComputerMoveStrategy[] strategies) {
-        this.strategies = strategies;
+    Level(final BiFunction<Integer, PersistentEvaluationCache, ComputerMoveStrategy[]> strategiesFactory) {
+        this.strategiesFactory = strategiesFactory;
     }
 
     public ComputerMoveStrategy[] getStrategies() {
-        return strategies.clone();
+        return getStrategies(DEFAULT_THREAD_COUNT);
+    }
+
+    public ComputerMoveStrategy[] getStrategies(final int threadCount) {
+        return strategiesFactory.apply(threadCount, null);
+    }
+
+    /**
+     * @param openingBook the book, which is probed before the strategies of the level, or null
+     */
+    public ComputerMoveStrategy[] getStrategies(final int threadCount, final OpeningBook openingBook) {
+        return getStrategies(threadCount, openingBook, null);
+    }
+
+    /**
+     * @param openingBook     the book, which is probed before the strategies of the level, or null
+     * @param evaluationCache the cache of the search results shared between launches or null
+     */
+    public ComputerMoveStrategy[] getStrategies(final int threadCount,
+                                                final OpeningBook openingBook,
+                                                final PersistentEvaluationCache evaluationCache) {
+        final ComputerMoveStrategy[] strategies = strategiesFactory.apply(threadCount, evaluationCache);
+        if (openingBook == null) {
+            return strategies;
+        }
+        final ComputerMoveStrategy[] result = new ComputerMoveStrategy[strategies.length + 1];
+        result[0] = new OpeningBookComputerMoveStrategy(openingBook);
+        System.arraycopy(strategies, 0, result, 1, strategies.length);
+        return result;
     }
 }
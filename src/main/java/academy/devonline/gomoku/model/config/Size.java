@@ -39,7 +39,11 @@ public enum Size {
 
     SIZE14,
 
-    SIZE15;
+    SIZE15,
+
+    SIZE19,
+
+    SIZE50;
 
     public int intValue() {
         // 4 - is length for "SIZE" prefix
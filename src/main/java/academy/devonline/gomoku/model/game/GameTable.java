@@ -18,58 +18,585 @@
 package academy.devonline.gomoku.model.game;
 
 import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
 
+import static academy.devonline.gomoku.Constants.WIN_COMBINATION_SIZE;
 import static academy.devonline.gomoku.model.game.Sign.EMPTY;
+import static academy.devonline.gomoku.model.game.Sign.O;
+import static academy.devonline.gomoku.model.game.Sign.X;
 
 /**
+ * The game table is stored as bitboards: each line of the table (row, column, main and secondary diagonal)
+ * is packed into a {@code long} bit mask per sign, so the table size can't be greater than {@link Long#SIZE}.
+ * <p>
+ * Besides {@link Cell} each cell can be addressed by the cell index: {@code row * size + col}.
+ * <p>
+ * The game table keeps the set of candidate cells: empty cells within {@link #CANDIDATE_DISTANCE} from any sign.
+ * Only these cells are worth considering as moves, except the first move.
+ * <p>
+ * All signs are kept in the move stack in the order they were set, so the moves can be retracted
+ * by {@link #unmakeMove()} and the position can be copied to other game table by {@link #snapshot()}
+ * and {@link #restore(Snapshot)}.
+ *
  * @author devonline
  * @link http://devonline.academy/java
  */
 public class GameTable {
 
-    private final Sign[][] table;
+    public static final int NO_CELL = -1;
+
+    public static final int CANDIDATE_DISTANCE = 2;
+
+    private static final int MAX_SIZE = Long.SIZE;
+
+    private final int size;
+
+    /**
+     * Bit {@code col} of {@code rows[sign][row]} is set if cell(row, col) contains the sign
+     */
+    private final long[][] rows;
+
+    /**
+     * Bit {@code row} of {@code cols[sign][col]} is set if cell(row, col) contains the sign
+     */
+    private final long[][] cols;
+
+    /**
+     * Bit {@code row} of {@code mainDiagonals[sign][row - col + size - 1]} is set if cell(row, col) contains the sign
+     */
+    private final long[][] mainDiagonals;
+
+    /**
+     * Bit {@code row} of {@code secondaryDiagonals[sign][row + col]} is set if cell(row, col) contains the sign
+     */
+    private final long[][] secondaryDiagonals;
+
+    /**
+     * Indexes of the empty cells in arbitrary order
+     */
+    private final int[] emptyCells;
+
+    /**
+     * Position of the cell index in the {@code emptyCells} array or {@link #NO_CELL} if the cell is not empty
+     */
+    private final int[] emptyCellPositions;
+
+    private int emptyCellCount;
+
+    /**
+     * Count of signs within {@link #CANDIDATE_DISTANCE} from the cell, excluding the cell itself
+     */
+    private final int[] neighbourCounts;
+
+    /**
+     * Indexes of the candidate cells in arbitrary order
+     */
+    private final int[] candidates;
+
+    /**
+     * Position of the cell index in the {@code candidates} array or {@link #NO_CELL} if the cell is not a candidate
+     */
+    private final int[] candidatePositions;
+
+    private int candidateCount;
+
+    private final WinCombinationIndex winCombinationIndex;
+
+    /**
+     * Cell indexes of the signs in the order they were set
+     */
+    private final int[] moves;
+
+    private int moveCount;
+
+    /**
+     * Index of the last move cell or {@link #NO_CELL} if the game table does not contain any moves
+     */
+    private int lastMove = NO_CELL;
+
+    private long version;
+
+    /**
+     * Zobrist hash of the current position
+     */
+    private long hash;
 
     public GameTable(final int size) {
-        table = new Sign[size][size];
-        for (int i = 0; i < size; i++) {
-            for (int j = 0; j < size; j++) {
-                table[i][j] = EMPTY;
-            }
+        if (size <= 0 || size > MAX_SIZE) {
+            throw new IllegalArgumentException(String.format(
+                    "Invalid game table size: %s! The size must be between 1 and %s!", size, MAX_SIZE
+            ));
+        }
+        this.size = size;
+        rows = new long[2][size];
+        cols = new long[2][size];
+        mainDiagonals = new long[2][2 * size - 1];
+        secondaryDiagonals = new long[2][2 * size - 1];
+        emptyCellCount = size * size;
+        emptyCells = new int[emptyCellCount];
+        emptyCellPositions = new int[emptyCellCount];
+        for (int i = 0; i < emptyCellCount; i++) {
+            emptyCells[i] = i;
+            emptyCellPositions[i] = i;
         }
+        neighbourCounts = new int[emptyCellCount];
+        candidates = new int[emptyCellCount];
+        candidatePositions = new int[emptyCellCount];
+        Arrays.fill(candidatePositions, NO_CELL);
+        moves = new int[emptyCellCount];
+        winCombinationIndex = new WinCombinationIndex(size);
+        hash = ZobristKeys.getSizeKey(size);
+    }
+
+    public int getCellIndex(final int row, final int col) {
+        return row * size + col;
+    }
+
+    public int getRow(final int cellIndex) {
+        return cellIndex / size;
+    }
+
+    public int getCol(final int cellIndex) {
+        return cellIndex % size;
     }
 
     public boolean isEmpty(final Cell cell) {
-        return table[cell.getRow()][cell.getCol()] == EMPTY;
+        return getSign(cell) == EMPTY;
+    }
+
+    public boolean isEmpty(final int cellIndex) {
+        return emptyCellPositions[cellIndex] != NO_CELL;
     }
 
     public Sign getSign(final Cell cell) {
-        return table[cell.getRow()][cell.getCol()];
+        return getSign(cell.getRow(), cell.getCol());
+    }
+
+    public Sign getSign(final int cellIndex) {
+        return getSign(getRow(cellIndex), getCol(cellIndex));
+    }
+
+    private Sign getSign(final int row, final int col) {
+        if ((rows[X.ordinal()][row] >>> col & 1) != 0) {
+            return X;
+        } else if ((rows[O.ordinal()][row] >>> col & 1) != 0) {
+            return O;
+        } else {
+            return EMPTY;
+        }
     }
 
     public void setSign(final Cell cell, final Sign sign) {
-        table[cell.getRow()][cell.getCol()] = sign;
+        setSign(getCellIndex(cell.getRow(), cell.getCol()), sign);
+    }
+
+    public void setSign(final int cellIndex, final Sign sign) {
+        final int row = getRow(cellIndex);
+        final int col = getCol(cellIndex);
+        final Sign oldSign = getSign(row, col);
+        version++;
+        updateEmptyCells(cellIndex, oldSign == EMPTY, sign == EMPTY);
+        updateCandidates(cellIndex, oldSign == EMPTY, sign == EMPTY);
+        updateMoves(cellIndex, oldSign == EMPTY, sign == EMPTY);
+        winCombinationIndex.update(cellIndex, oldSign, sign);
+        if (oldSign != EMPTY) {
+            hash ^= ZobristKeys.getKey(oldSign, cellIndex);
+        }
+        if (sign != EMPTY) {
+            hash ^= ZobristKeys.getKey(sign, cellIndex);
+        }
+        clearBits(X.ordinal(), row, col);
+        clearBits(O.ordinal(), row, col);
+        if (sign != EMPTY) {
+            final int index = sign.ordinal();
+            rows[index][row] |= 1L << col;
+            cols[index][col] |= 1L << row;
+            mainDiagonals[index][row - col + size - 1] |= 1L << row;
+            secondaryDiagonals[index][row + col] |= 1L << row;
+            lastMove = cellIndex;
+        } else if (lastMove == cellIndex) {
+            lastMove = moveCount > 0 ? moves[moveCount - 1] : NO_CELL;
+        }
+    }
+
+    /**
+     * Sets the sign to the empty cell
+     *
+     * @throws IllegalArgumentException if the cell is not empty or the sign is {@link Sign#EMPTY}
+     */
+    public void makeMove(final int cellIndex, final Sign sign) {
+        if (sign == EMPTY) {
+            throw new IllegalArgumentException("Can't make a move with the empty sign!");
+        }
+        if (!isEmpty(cellIndex)) {
+            throw new IllegalArgumentException(String.format(
+                    "Can't make a move, because the cell is not empty: %s!", cellIndex
+            ));
+        }
+        setSign(cellIndex, sign);
+    }
+
+    /**
+     * Clears the cell of the last move, so the hash, the indexes and the last move become the same as
+     * before this move
+     *
+     * @return the cell index of the retracted move
+     * @throws IllegalStateException if the game table does not contain any moves
+     */
+    public int unmakeMove() {
+        if (moveCount == 0) {
+            throw new IllegalStateException("Can't unmake a move, because the game table does not contain any moves!");
+        }
+        final int cellIndex = moves[moveCount - 1];
+        setSign(cellIndex, EMPTY);
+        return cellIndex;
+    }
+
+    /**
+     * @return the count of signs on the game table
+     */
+    public int getMoveCount() {
+        return moveCount;
+    }
+
+    /**
+     * @param index the index of the move: from 0 (inclusive) to {@link #getMoveCount()} (exclusive)
+     * @return the cell index of the {@code index}-th move
+     */
+    public int getMove(final int index) {
+        return moves[index];
+    }
+
+    /**
+     * @return the compact copy of the position, which can be restored on the game table of the same size
+     */
+    public Snapshot snapshot() {
+        final int[] encodedMoves = new int[moveCount];
+        for (int i = 0; i < moveCount; i++) {
+            encodedMoves[i] = encode(moves[i], getSign(moves[i]));
+        }
+        return new Snapshot(size, encodedMoves);
+    }
+
+    /**
+     * Makes the position the same as in the snapshot. The moves, which are equal to the first moves of
+     * the snapshot, are kept, so restoring of the similar position is cheap
+     *
+     * @throws IllegalArgumentException if the snapshot is taken from the game table of other size
+     */
+    public void restore(final Snapshot snapshot) {
+        if (snapshot.size != size) {
+            throw new IllegalArgumentException(String.format(
+                    "Invalid snapshot size: %s! Expected size: %s!", snapshot.size, size
+            ));
+        }
+        final int[] encodedMoves = snapshot.moves;
+        int commonMoveCount = 0;
+        while (commonMoveCount < moveCount && commonMoveCount < encodedMoves.length &&
+                encodedMoves[commonMoveCount] == encode(moves[commonMoveCount], getSign(moves[commonMoveCount]))) {
+            commonMoveCount++;
+        }
+        while (moveCount > commonMoveCount) {
+            unmakeMove();
+        }
+        for (int i = commonMoveCount; i < encodedMoves.length; i++) {
+            setSign(encodedMoves[i] >>> 1, (encodedMoves[i] & 1) == 0 ? X : O);
+        }
+    }
+
+    private static int encode(final int cellIndex, final Sign sign) {
+        return cellIndex << 1 | (sign == X ? 0 : 1);
+    }
+
+    /**
+     * The overwritten sign is moved to the top of the stack, so the last move is always retracted first
+     */
+    private void updateMoves(final int cellIndex, final boolean wasEmpty, final boolean isEmpty) {
+        if (!wasEmpty) {
+            // usually the last move is retracted, so the search starts from the top of the stack
+            int position = moveCount - 1;
+            while (moves[position] != cellIndex) {
+                position--;
+            }
+            System.arraycopy(moves, position + 1, moves, position, moveCount - position - 1);
+            moveCount--;
+        }
+        if (!isEmpty) {
+            moves[moveCount++] = cellIndex;
+        }
+    }
+
+    private void clearBits(final int index, final int row, final int col) {
+        rows[index][row] &= ~(1L << col);
+        cols[index][col] &= ~(1L << row);
+        mainDiagonals[index][row - col + size - 1] &= ~(1L << row);
+        secondaryDiagonals[index][row + col] &= ~(1L << row);
+    }
+
+    private void updateEmptyCells(final int cellIndex, final boolean wasEmpty, final boolean isEmpty) {
+        if (wasEmpty && !isEmpty) {
+            final int position = emptyCellPositions[cellIndex];
+            final int lastCellIndex = emptyCells[--emptyCellCount];
+            emptyCells[position] = lastCellIndex;
+            emptyCellPositions[lastCellIndex] = position;
+            emptyCellPositions[cellIndex] = NO_CELL;
+        } else if (!wasEmpty && isEmpty) {
+            emptyCells[emptyCellCount] = cellIndex;
+            emptyCellPositions[cellIndex] = emptyCellCount++;
+        }
+    }
+
+    private void updateCandidates(final int cellIndex, final boolean wasEmpty, final boolean isEmpty) {
+        if (wasEmpty && !isEmpty) {
+            removeCandidate(cellIndex);
+            updateNeighbourCounts(cellIndex, 1);
+        } else if (!wasEmpty && isEmpty) {
+            updateNeighbourCounts(cellIndex, -1);
+            if (neighbourCounts[cellIndex] > 0) {
+                addCandidate(cellIndex);
+            }
+        }
+    }
+
+    private void updateNeighbourCounts(final int cellIndex, final int delta) {
+        final int row = getRow(cellIndex);
+        final int col = getCol(cellIndex);
+        final int minRow = Math.max(0, row - CANDIDATE_DISTANCE);
+        final int maxRow = Math.min(size - 1, row + CANDIDATE_DISTANCE);
+        final int minCol = Math.max(0, col - CANDIDATE_DISTANCE);
+        final int maxCol = Math.min(size - 1, col + CANDIDATE_DISTANCE);
+        for (int i = minRow; i <= maxRow; i++) {
+            for (int j = minCol; j <= maxCol; j++) {
+                final int neighbour = getCellIndex(i, j);
+                if (neighbour != cellIndex) {
+                    neighbourCounts[neighbour] += delta;
+                    if (isEmpty(neighbour)) {
+                        if (delta > 0 && neighbourCounts[neighbour] == 1) {
+                            addCandidate(neighbour);
+                        } else if (delta < 0 && neighbourCounts[neighbour] == 0) {
+                            removeCandidate(neighbour);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private void addCandidate(final int cellIndex) {
+        candidates[candidateCount] = cellIndex;
+        candidatePositions[cellIndex] = candidateCount++;
+    }
+
+    private void removeCandidate(final int cellIndex) {
+        final int position = candidatePositions[cellIndex];
+        if (position != NO_CELL) {
+            final int lastCellIndex = candidates[--candidateCount];
+            candidates[position] = lastCellIndex;
+            candidatePositions[lastCellIndex] = position;
+            candidatePositions[cellIndex] = NO_CELL;
+        }
     }
 
     public boolean isValid(final Cell cell) {
-        return cell.getRow() >= 0 && cell.getRow() < getSize() &&
-                cell.getCol() >= 0 && cell.getCol() < getSize();
+        return isValid(cell.getRow(), cell.getCol());
+    }
+
+    public boolean isValid(final int row, final int col) {
+        return row >= 0 && row < size &&
+                col >= 0 && col < size;
     }
 
     public int getSize() {
-        return table.length;
+        return size;
+    }
+
+    public int getEmptyCellCount() {
+        return emptyCellCount;
+    }
+
+    /**
+     * @param index the index of the empty cell: from 0 (inclusive) to {@link #getEmptyCellCount()} (exclusive)
+     * @return the cell index of the empty cell. The order of empty cells changes after each setSign invocation
+     */
+    public int getEmptyCell(final int index) {
+        return emptyCells[index];
+    }
+
+    /**
+     * @return the count of empty cells within {@link #CANDIDATE_DISTANCE} from any sign. The count is 0 if
+     * the game table is empty or full
+     */
+    public int getCandidateCount() {
+        return candidateCount;
+    }
+
+    /**
+     * @param index the index of the candidate: from 0 (inclusive) to {@link #getCandidateCount()} (exclusive)
+     * @return the cell index of the candidate. The order of candidates changes after each setSign invocation
+     */
+    public int getCandidate(final int index) {
+        return candidates[index];
+    }
+
+    public boolean isCandidate(final int cellIndex) {
+        return candidatePositions[cellIndex] != NO_CELL;
+    }
+
+    /**
+     * @return the iterator over the cell indexes of the candidates. The game table must not be changed
+     * during the iteration
+     */
+    public PrimitiveIterator.OfInt candidateIterator() {
+        return new PrimitiveIterator.OfInt() {
+
+            private int index;
+
+            @Override
+            public boolean hasNext() {
+                return index < candidateCount;
+            }
+
+            @Override
+            public int nextInt() {
+                if (index >= candidateCount) {
+                    throw new NoSuchElementException();
+                }
+                return candidates[index++];
+            }
+        };
+    }
+
+    public WinCombinationIndex getWinCombinationIndex() {
+        return winCombinationIndex;
+    }
+
+    /**
+     * @return the counter, which is incremented on each setSign invocation, so any data computed from the game table
+     * is still actual if the version has not been changed
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * @return the Zobrist hash of the current position, which is updated incrementally on each setSign invocation.
+     * The same positions have the same hash regardless of the move order
+     */
+    public long getHash() {
+        return hash;
+    }
+
+    /**
+     * @return the cell index of the last sign set to the game table or {@link #NO_CELL}
+     * if the game table does not contain any moves
+     */
+    public int getLastMove() {
+        return lastMove;
+    }
+
+    /**
+     * @return true if the game table contains {@link academy.devonline.gomoku.Constants#WIN_COMBINATION_SIZE}
+     * signs in a row by any direction
+     */
+    public boolean hasWinCombination(final Sign sign) {
+        final int index = sign.ordinal();
+        return hasWinCombination(rows[index]) ||
+                hasWinCombination(cols[index]) ||
+                hasWinCombination(mainDiagonals[index]) ||
+                hasWinCombination(secondaryDiagonals[index]);
+    }
+
+    /**
+     * @return true if any of four lines through the specified cell contains
+     * {@link academy.devonline.gomoku.Constants#WIN_COMBINATION_SIZE} signs in a row
+     */
+    public boolean hasWinCombination(final Cell cell, final Sign sign) {
+        return hasWinCombination(getCellIndex(cell.getRow(), cell.getCol()), sign);
+    }
+
+    /**
+     * @return true if any of four lines through the specified cell contains
+     * {@link academy.devonline.gomoku.Constants#WIN_COMBINATION_SIZE} signs in a row
+     */
+    public boolean hasWinCombination(final int cellIndex, final Sign sign) {
+        final int index = sign.ordinal();
+        final int row = getRow(cellIndex);
+        final int col = getCol(cellIndex);
+        return hasWinCombination(rows[index][row]) ||
+                hasWinCombination(cols[index][col]) ||
+                hasWinCombination(mainDiagonals[index][row - col + size - 1]) ||
+                hasWinCombination(secondaryDiagonals[index][row + col]);
+    }
+
+    private static boolean hasWinCombination(final long[] lines) {
+        for (final long line : lines) {
+            if (hasWinCombination(line)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Shift-and-AND trick: after {@code WIN_COMBINATION_SIZE - 1} steps only the bits that start
+     * {@code WIN_COMBINATION_SIZE} consecutive set bits remain set.
+     */
+    private static boolean hasWinCombination(final long line) {
+        long combination = line;
+        for (int k = 1; k < WIN_COMBINATION_SIZE && combination != 0; k++) {
+            combination &= line >>> k;
+        }
+        return combination != 0;
     }
 
     @Override
     public String toString() {
         final StringBuilder sb = new StringBuilder("GameTable{");
         sb.append("table=");
-        for (int i = 0; i < table.length; i++) {
-            sb.append(Arrays.toString(table[i]));
-            if (i < table.length - 1) {
+        for (int i = 0; i < size; i++) {
+            sb.append('[');
+            for (int j = 0; j < size; j++) {
+                sb.append(getSign(i, j));
+                if (j < size - 1) {
+                    sb.append(", ");
+                }
+            }
+            sb.append(']');
+            if (i < size - 1) {
                 sb.append(';');
             }
         }
         sb.append('}');
         return sb.toString();
     }
+
+    /**
+     * Immutable copy of the position: the signs in the order they were set
+     *
+     * @author devonline
+     * @link http://devonline.academy/java
+     */
+    public static final class Snapshot {
+
+        private final int size;
+
+        /**
+         * {@code cellIndex << 1 | (sign == X ? 0 : 1)}
+         */
+        private final int[] moves;
+
+        private Snapshot(final int size, final int[] moves) {
+            this.size = size;
+            this.moves = moves;
+        }
+
+        public int getSize() {
+            return size;
+        }
+
+        public int getMoveCount() {
+            return moves.length;
+        }
+    }
 }
@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2019. http://devonline.academy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package academy.devonline.gomoku.model.game;
+
+/**
+ * Open-addressing hash map from {@code long} to non-zero {@code int} without boxing.
+ * <p>
+ * The value 0 means "no entry", so the put of 0 removes the entry. The collisions are resolved by the linear
+ * probing and the removal shifts the next entries of the cluster back, so the map does not contain tombstones.
+ * The capacity is a power of two and is doubled when the map is half full.
+ *
+ * @author devonline
+ * @link http://devonline.academy/java
+ */
+final class LongIntHashMap {
+
+    private static final int MIN_CAPACITY = 16;
+
+    private long[] keys;
+
+    private int[] values;
+
+    private int mask;
+
+    private int size;
+
+    LongIntHashMap() {
+        keys = new long[MIN_CAPACITY];
+        values = new int[MIN_CAPACITY];
+        mask = MIN_CAPACITY - 1;
+    }
+
+    /**
+     * @return the value or 0 if the map does not contain the key
+     */
+    int get(final long key) {
+        for (int index = getIndex(key); ; index = (index + 1) & mask) {
+            if (values[index] == 0) {
+                return 0;
+            } else if (keys[index] == key) {
+                return values[index];
+            }
+        }
+    }
+
+    void put(final long key, final int value) {
+        if (value == 0) {
+            remove(key);
+            return;
+        }
+        int index = getIndex(key);
+        while (values[index] != 0) {
+            if (keys[index] == key) {
+                values[index] = value;
+                return;
+            }
+            index = (index + 1) & mask;
+        }
+        keys[index] = key;
+        values[index] = value;
+        if (++size * 2 > keys.length) {
+            resize(keys.length * 2);
+        }
+    }
+
+    /**
+     * @return the new value
+     */
+    int add(final long key, final int delta) {
+        final int value = get(key) + delta;
+        put(key, value);
+        return value;
+    }
+
+    void remove(final long key) {
+        int index = getIndex(key);
+        while (values[index] != 0) {
+            if (keys[index] == key) {
+                shiftBack(index);
+                size--;
+                return;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * @return the count of slots for the iteration by {@link #isUsed(int)}, {@link #getKey(int)}
+     * and {@link #getValue(int)}
+     */
+    int getCapacity() {
+        return keys.length;
+    }
+
+    boolean isUsed(final int slot) {
+        return values[slot] != 0;
+    }
+
+    long getKey(final int slot) {
+        return keys[slot];
+    }
+
+    int getValue(final int slot) {
+        return values[slot];
+    }
+
+    private int getIndex(final long key) {
+        final long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ hash >>> 32) & mask;
+    }
+
+    /**
+     * Moves the next entries of the cluster to the free slot, if their home slot is not between the free slot
+     * and their current slot
+     */
+    private void shiftBack(final int removedIndex) {
+        int free = removedIndex;
+        int index = (free + 1) & mask;
+        while (values[index] != 0) {
+            final int home = getIndex(keys[index]);
+            if (((index - home) & mask) >= ((index - free) & mask)) {
+                keys[free] = keys[index];
+                values[free] = values[index];
+                free = index;
+            }
+            index = (index + 1) & mask;
+        }
+        values[free] = 0;
+    }
+
+    private void resize(final int capacity) {
+        final long[] oldKeys = keys;
+        final int[] oldValues = values;
+        keys = new long[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldValues[i] != 0) {
+                put(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+}
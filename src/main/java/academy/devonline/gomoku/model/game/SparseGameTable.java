@@ -0,0 +1,273 @@
+/*
+ * Copyright (c) 2019. http://devonline.academy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package academy.devonline.gomoku.model.game;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+import static academy.devonline.gomoku.Constants.WIN_COMBINATION_SIZE;
+import static academy.devonline.gomoku.model.game.GameTable.CANDIDATE_DISTANCE;
+
+/**
+ * The unbounded game table for the infinite gomoku, which stores only the occupied cells.
+ * <p>
+ * Unlike {@link GameTable}, which allocates the arrays for all cells, the memory and the cost of the move
+ * depend on the count of the signs only:
+ * <ul>
+ *     <li>the signs are stored in the primitive open-addressing hash map from the cell key to the sign;</li>
+ *     <li>the candidate moves (the empty cells within {@link GameTable#CANDIDATE_DISTANCE} of any sign) are
+ *     the cells of the second map, which counts the signs near the cell;</li>
+ *     <li>the win combination is verified along four lines through the move only.</li>
+ * </ul>
+ * The cell is identified by the row and the column from {@link #MIN_COORDINATE} to {@link #MAX_COORDINATE}
+ * packed into the {@code long} key by {@link #getKey(int, int)}.
+ *
+ * @author devonline
+ * @link http://devonline.academy/java
+ */
+public class SparseGameTable {
+
+    public static final int MIN_COORDINATE = -(1 << 30);
+
+    public static final int MAX_COORDINATE = (1 << 30) - 1;
+
+    private static final int[][] DIRECTIONS = {{0, 1}, {1, 0}, {1, 1}, {1, -1}};
+
+    private static final int MIN_MOVE_CAPACITY = 64;
+
+    /**
+     * The same position can be reached with different sides to move, because any sign can make the next move
+     */
+    private static final long O_TO_MOVE_KEY = 0x9E3779B97F4A7C15L;
+
+    /**
+     * {@code key -> sign.ordinal() + 1}
+     */
+    private final LongIntHashMap signs = new LongIntHashMap();
+
+    /**
+     * {@code key -> count of the signs within CANDIDATE_DISTANCE}
+     */
+    private final LongIntHashMap neighbourCounts = new LongIntHashMap();
+
+    private long[] moves = new long[MIN_MOVE_CAPACITY];
+
+    private int moveCount;
+
+    /**
+     * The count of the empty cells with the non-zero neighbour count
+     */
+    private int candidateCount;
+
+    private long hash;
+
+    public static long getKey(final int row, final int col) {
+        return (long) row << 32 | col & 0xFFFFFFFFL;
+    }
+
+    public static int getRow(final long key) {
+        return (int) (key >> 32);
+    }
+
+    public static int getCol(final long key) {
+        return (int) key;
+    }
+
+    public Sign getSign(final int row, final int col) {
+        return getSign(getKey(row, col));
+    }
+
+    public Sign getSign(final long key) {
+        final int value = signs.get(key);
+        return value == 0 ? Sign.EMPTY : Sign.values()[value - 1];
+    }
+
+    public boolean isEmpty(final int row, final int col) {
+        return signs.get(getKey(row, col)) == 0;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the cell is occupied, out of the coordinate range or the sign is empty
+     */
+    public void makeMove(final int row, final int col, final Sign sign) {
+        if (sign == Sign.EMPTY) {
+            throw new IllegalArgumentException("Move can't be made by empty sign!");
+        }
+        if (row < MIN_COORDINATE || row > MAX_COORDINATE || col < MIN_COORDINATE || col > MAX_COORDINATE) {
+            throw new IllegalArgumentException(String.format("Cell (%s, %s) is out of the game table", row, col));
+        }
+        final long key = getKey(row, col);
+        if (signs.get(key) != 0) {
+            throw new IllegalArgumentException(String.format("Cell (%s, %s) is not free", row, col));
+        }
+        signs.put(key, sign.ordinal() + 1);
+        if (neighbourCounts.get(key) != 0) {
+            candidateCount--;
+        }
+        hash ^= getZobristKey(key, sign);
+        updateNeighbourCounts(row, col, 1);
+        if (moveCount == moves.length) {
+            moves = Arrays.copyOf(moves, moves.length * 2);
+        }
+        moves[moveCount++] = key;
+    }
+
+    /**
+     * Takes back the last move
+     *
+     * @return the key of the cleared cell
+     * @throws IllegalStateException if there are no moves
+     */
+    public long unmakeMove() {
+        if (moveCount == 0) {
+            throw new IllegalStateException("There are no moves to unmake!");
+        }
+        final long key = moves[--moveCount];
+        hash ^= getZobristKey(key, getSign(key));
+        signs.remove(key);
+        if (neighbourCounts.get(key) != 0) {
+            candidateCount++;
+        }
+        updateNeighbourCounts(getRow(key), getCol(key), -1);
+        return key;
+    }
+
+    public int getMoveCount() {
+        return moveCount;
+    }
+
+    public long getMove(final int index) {
+        if (index < 0 || index >= moveCount) {
+            throw new IndexOutOfBoundsException("Invalid move index: " + index);
+        }
+        return moves[index];
+    }
+
+    /**
+     * @return the Zobrist hash of the current position and the side to move (the opposite sign of the last move),
+     * which does not depend on the move order
+     */
+    public long getHash() {
+        return moveCount > 0 && getSign(moves[moveCount - 1]) == Sign.X ? hash ^ O_TO_MOVE_KEY : hash;
+    }
+
+    /**
+     * @return true if the sign in the specified cell forms the win combination
+     */
+    public boolean hasWinCombination(final int row, final int col, final Sign sign) {
+        for (final int[] direction : DIRECTIONS) {
+            final int count = 1 +
+                    countSigns(row, col, direction[0], direction[1], sign) +
+                    countSigns(row, col, -direction[0], -direction[1], sign);
+            if (count >= WIN_COMBINATION_SIZE) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return the count of the candidate moves: the empty cells within {@link GameTable#CANDIDATE_DISTANCE}
+     * of any sign
+     */
+    public int getCandidateCount() {
+        return candidateCount;
+    }
+
+    /**
+     * The iterator must not be used after the next move
+     *
+     * @return the iterator over the keys of the candidate moves
+     */
+    public PrimitiveIterator.OfLong candidateIterator() {
+        return new PrimitiveIterator.OfLong() {
+
+            private int slot = findNext(0);
+
+            @Override
+            public boolean hasNext() {
+                return slot < neighbourCounts.getCapacity();
+            }
+
+            @Override
+            public long nextLong() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                final long key = neighbourCounts.getKey(slot);
+                slot = findNext(slot + 1);
+                return key;
+            }
+
+            private int findNext(final int from) {
+                int index = from;
+                while (index < neighbourCounts.getCapacity() &&
+                        (!neighbourCounts.isUsed(index) || signs.get(neighbourCounts.getKey(index)) != 0)) {
+                    index++;
+                }
+                return index;
+            }
+        };
+    }
+
+    private int countSigns(final int row, final int col, final int rowStep, final int colStep, final Sign sign) {
+        final int value = sign.ordinal() + 1;
+        int count = 0;
+        int r = row + rowStep;
+        int c = col + colStep;
+        while (count < WIN_COMBINATION_SIZE && signs.get(getKey(r, c)) == value) {
+            count++;
+            r += rowStep;
+            c += colStep;
+        }
+        return count;
+    }
+
+    private void updateNeighbourCounts(final int row, final int col, final int delta) {
+        for (int r = row - CANDIDATE_DISTANCE; r <= row + CANDIDATE_DISTANCE; r++) {
+            for (int c = col - CANDIDATE_DISTANCE; c <= col + CANDIDATE_DISTANCE; c++) {
+                if ((r != row || c != col) && r >= MIN_COORDINATE && r <= MAX_COORDINATE &&
+                        c >= MIN_COORDINATE && c <= MAX_COORDINATE) {
+                    final long key = getKey(r, c);
+                    final int count = neighbourCounts.add(key, delta);
+                    // the empty cell becomes the candidate with the first sign near it and stops being
+                    // the candidate without the last one
+                    if (count == (delta > 0 ? delta : 0) && signs.get(key) == 0) {
+                        candidateCount += delta;
+                    }
+                }
+            }
+        }
+    }
+
+    private static long getZobristKey(final long key, final Sign sign) {
+        long z = key * 2 + sign.ordinal() + 0x676F6D6F6B75L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    @Override
+    public String toString() {
+        return "SparseGameTable{" +
+                "moveCount=" + moveCount +
+                ", candidateCount=" + getCandidateCount() +
+                '}';
+    }
+}
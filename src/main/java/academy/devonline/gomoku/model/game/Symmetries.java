@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2019. http://devonline.academy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package academy.devonline.gomoku.model.game;
+
+/**
+ * Eight symmetries of the square game table (rotations and reflections), which do not change the game.
+ * <p>
+ * The symmetry is a bit mask: bit 0 reflects the columns, bit 1 reflects the rows, bit 2 swaps the row and
+ * the column after the reflections. The canonical form of the position is the symmetric position
+ * with the min Zobrist hash, so all symmetric positions have the same canonical hash.
+ *
+ * @author devonline
+ * @link http://devonline.academy/java
+ */
+public final class Symmetries {
+
+    public static final int COUNT = 8;
+
+    private Symmetries() {
+    }
+
+    /**
+     * @return the cell index of the specified cell in the symmetric game table
+     */
+    public static int transform(final int size, final int symmetry, final int cellIndex) {
+        int row = cellIndex / size;
+        int col = cellIndex % size;
+        if ((symmetry & 1) != 0) {
+            col = size - 1 - col;
+        }
+        if ((symmetry & 2) != 0) {
+            row = size - 1 - row;
+        }
+        return (symmetry & 4) != 0 ? col * size + row : row * size + col;
+    }
+
+    /**
+     * @return the cell index, which is transformed by the specified symmetry to the specified cell
+     */
+    public static int inverseTransform(final int size, final int symmetry, final int cellIndex) {
+        int row = cellIndex / size;
+        int col = cellIndex % size;
+        if ((symmetry & 4) != 0) {
+            final int temp = row;
+            row = col;
+            col = temp;
+        }
+        if ((symmetry & 1) != 0) {
+            col = size - 1 - col;
+        }
+        if ((symmetry & 2) != 0) {
+            row = size - 1 - row;
+        }
+        return row * size + col;
+    }
+
+    /**
+     * @return the Zobrist hash of the symmetric game table, which is calculated by the move stack
+     */
+    public static long getHash(final GameTable gameTable, final int symmetry) {
+        if (symmetry == 0) {
+            return gameTable.getHash();
+        }
+        final int size = gameTable.getSize();
+        long hash = ZobristKeys.getSizeKey(size);
+        for (int i = 0; i < gameTable.getMoveCount(); i++) {
+            final int move = gameTable.getMove(i);
+            hash ^= ZobristKeys.getKey(gameTable.getSign(move), transform(size, symmetry, move));
+        }
+        return hash;
+    }
+
+    /**
+     * @return the symmetry, which transforms the game table to the canonical form
+     */
+    public static int getCanonicalSymmetry(final GameTable gameTable) {
+        int canonicalSymmetry = 0;
+        long canonicalHash = gameTable.getHash();
+        for (int symmetry = 1; symmetry < COUNT; symmetry++) {
+            final long hash = getHash(gameTable, symmetry);
+            if (Long.compareUnsigned(hash, canonicalHash) < 0) {
+                canonicalHash = hash;
+                canonicalSymmetry = symmetry;
+            }
+        }
+        return canonicalSymmetry;
+    }
+}
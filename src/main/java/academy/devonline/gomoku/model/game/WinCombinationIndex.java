@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2019. http://devonline.academy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package academy.devonline.gomoku.model.game;
+
+import static academy.devonline.gomoku.Constants.WIN_COMBINATION_SIZE;
+import static academy.devonline.gomoku.model.game.Sign.EMPTY;
+import static academy.devonline.gomoku.model.game.Sign.O;
+import static academy.devonline.gomoku.model.game.Sign.X;
+
+/**
+ * Keeps the count of X and O signs for each win combination of the game table and groups the win combinations,
+ * which contain only one sign and empty cells, by this sign and the count of its signs.
+ * <p>
+ * The index is updated by the {@link GameTable} on each setSign invocation: only the win combinations
+ * through the changed cell (at most 4 * WIN_COMBINATION_SIZE) are touched.
+ *
+ * @author devonline
+ * @link http://devonline.academy/java
+ */
+public final class WinCombinationIndex {
+
+    private static final int NOT_IN_GROUP = -1;
+
+    private final WinCombinations winCombinations;
+
+    /**
+     * {@code signCounts[sign.ordinal()][combination]}
+     */
+    private final int[][] signCounts;
+
+    /**
+     * Group of the win combinations, which contain {@code signCount} signs equal to the {@code sign} and empty cells
+     * only, is stored at {@code groups[group(sign, signCount)][0 .. groupSizes[group(sign, signCount)] - 1]}.
+     * The empty win combinations are not grouped, so {@code signCount} is 1 .. WIN_COMBINATION_SIZE
+     */
+    private final int[][] groups;
+
+    private final int[] groupSizes;
+
+    /**
+     * Position of the win combination in its group or {@link #NOT_IN_GROUP}
+     */
+    private final int[] groupPositions;
+
+    WinCombinationIndex(final int size) {
+        winCombinations = WinCombinations.of(size);
+        final int count = winCombinations.getCount();
+        signCounts = new int[2][count];
+        groups = new int[2 * WIN_COMBINATION_SIZE][count];
+        groupSizes = new int[groups.length];
+        groupPositions = new int[count];
+        for (int i = 0; i < count; i++) {
+            groupPositions[i] = NOT_IN_GROUP;
+        }
+    }
+
+    public WinCombinations getWinCombinations() {
+        return winCombinations;
+    }
+
+    /**
+     * @param signCount 1 .. WIN_COMBINATION_SIZE
+     * @return the count of win combinations, which contain {@code signCount} signs equal to the specified sign
+     * and {@code WIN_COMBINATION_SIZE - signCount} empty cells
+     */
+    public int getCombinationCount(final Sign sign, final int signCount) {
+        return groupSizes[group(sign, signCount)];
+    }
+
+    /**
+     * @param signCount 1 .. WIN_COMBINATION_SIZE
+     * @return the {@code index}-th win combination, which contains {@code signCount} signs equal to the specified
+     * sign and {@code WIN_COMBINATION_SIZE - signCount} empty cells
+     */
+    public int getCombination(final Sign sign, final int signCount, final int index) {
+        return groups[group(sign, signCount)][index];
+    }
+
+    /**
+     * @return the count of signs equal to the specified sign in the win combination
+     */
+    public int getSignCount(final int combination, final Sign sign) {
+        return signCounts[sign.ordinal()][combination];
+    }
+
+    void update(final int cell, final Sign oldSign, final Sign newSign) {
+        if (oldSign == newSign) {
+            return;
+        }
+        final int combinationCount = winCombinations.getCombinationCount(cell);
+        for (int i = 0; i < combinationCount; i++) {
+            final int combination = winCombinations.getCombination(cell, i);
+            removeFromGroup(combination);
+            if (oldSign != EMPTY) {
+                signCounts[oldSign.ordinal()][combination]--;
+            }
+            if (newSign != EMPTY) {
+                signCounts[newSign.ordinal()][combination]++;
+            }
+            addToGroup(combination);
+        }
+    }
+
+    private void removeFromGroup(final int combination) {
+        final int position = groupPositions[combination];
+        if (position != NOT_IN_GROUP) {
+            final int group = group(combination);
+            final int lastCombination = groups[group][--groupSizes[group]];
+            groups[group][position] = lastCombination;
+            groupPositions[lastCombination] = position;
+            groupPositions[combination] = NOT_IN_GROUP;
+        }
+    }
+
+    private void addToGroup(final int combination) {
+        final int group = group(combination);
+        if (group != NOT_IN_GROUP) {
+            groups[group][groupSizes[group]] = combination;
+            groupPositions[combination] = groupSizes[group]++;
+        }
+    }
+
+    private int group(final int combination) {
+        final int countX = signCounts[X.ordinal()][combination];
+        final int countO = signCounts[O.ordinal()][combination];
+        if (countX > 0 && countO == 0) {
+            return group(X, countX);
+        } else if (countO > 0 && countX == 0) {
+            return group(O, countO);
+        } else {
+            return NOT_IN_GROUP;
+        }
+    }
+
+    private static int group(final Sign sign, final int signCount) {
+        return sign.ordinal() * WIN_COMBINATION_SIZE + signCount - 1;
+    }
+}
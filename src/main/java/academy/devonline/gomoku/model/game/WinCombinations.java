@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2019. http://devonline.academy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package academy.devonline.gomoku.model.game;
+
+import static academy.devonline.gomoku.Constants.WIN_COMBINATION_SIZE;
+
+/**
+ * Precomputed cell indexes of all possible win combinations, i.e. all windows of
+ * {@link academy.devonline.gomoku.Constants#WIN_COMBINATION_SIZE} cells in a row by rows, cols, main and
+ * secondary diagonals, which fit into the game table of the specified size.
+ * <p>
+ * Instances are immutable and cached per game table size.
+ *
+ * @author devonline
+ * @link http://devonline.academy/java
+ */
+public final class WinCombinations {
+
+    private static final WinCombinations[] CACHE = new WinCombinations[Long.SIZE + 1];
+
+    private final int count;
+
+    /**
+     * Cell index of the {@code k}-th cell of the {@code combination} is stored at
+     * {@code cells[combination * WIN_COMBINATION_SIZE + k]}
+     */
+    private final int[] cells;
+
+    /**
+     * Win combinations, which contain the cell with index {@code cell}, are stored at
+     * {@code cellCombinations[cellCombinationOffsets[cell] .. cellCombinationOffsets[cell + 1] - 1]}
+     */
+    private final int[] cellCombinationOffsets;
+
+    private final int[] cellCombinations;
+
+    private WinCombinations(final int size) {
+        final int[][] directions = {{0, 1}, {1, 0}, {1, 1}, {1, -1}};
+        final int[] buffer = new int[directions.length * size * size * WIN_COMBINATION_SIZE];
+        int combination = 0;
+        for (final int[] direction : directions) {
+            for (int i = 0; i < size; i++) {
+                for (int j = 0; j < size; j++) {
+                    final int lastRow = i + direction[0] * (WIN_COMBINATION_SIZE - 1);
+                    final int lastCol = j + direction[1] * (WIN_COMBINATION_SIZE - 1);
+                    if (lastRow < size && lastCol >= 0 && lastCol < size) {
+                        for (int k = 0; k < WIN_COMBINATION_SIZE; k++) {
+                            buffer[combination * WIN_COMBINATION_SIZE + k] =
+                                    (i + direction[0] * k) * size + j + direction[1] * k;
+                        }
+                        combination++;
+                    }
+                }
+            }
+        }
+        this.count = combination;
+        this.cells = new int[combination * WIN_COMBINATION_SIZE];
+        System.arraycopy(buffer, 0, cells, 0, cells.length);
+        this.cellCombinationOffsets = new int[size * size + 1];
+        for (final int cell : cells) {
+            cellCombinationOffsets[cell + 1]++;
+        }
+        for (int i = 0; i < size * size; i++) {
+            cellCombinationOffsets[i + 1] += cellCombinationOffsets[i];
+        }
+        this.cellCombinations = new int[cells.length];
+        final int[] positions = cellCombinationOffsets.clone();
+        for (int i = 0; i < cells.length; i++) {
+            cellCombinations[positions[cells[i]]++] = i / WIN_COMBINATION_SIZE;
+        }
+    }
+
+    public static WinCombinations of(final int size) {
+        WinCombinations winCombinations = CACHE[size];
+        if (winCombinations == null) {
+            // Benign race: all fields are final, so the instance is safely published to other threads
+            winCombinations = new WinCombinations(size);
+            CACHE[size] = winCombinations;
+        }
+        return winCombinations;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * @return cell index of the {@code k}-th cell of the specified win combination
+     */
+    public int getCell(final int combination, final int k) {
+        return cells[combination * WIN_COMBINATION_SIZE + k];
+    }
+
+    /**
+     * @return the count of win combinations, which contain the specified cell
+     */
+    public int getCombinationCount(final int cell) {
+        return cellCombinationOffsets[cell + 1] - cellCombinationOffsets[cell];
+    }
+
+    /**
+     * @return the {@code index}-th win combination, which contains the specified cell
+     */
+    public int getCombination(final int cell, final int index) {
+        return cellCombinations[cellCombinationOffsets[cell] + index];
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2019. http://devonline.academy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package academy.devonline.gomoku.model.game;
+
+/**
+ * Random 64-bit keys for the Zobrist hashing of the game table.
+ * <p>
+ * The keys are generated by the SplitMix64 generator with the fixed seed, so the hash of the same position is
+ * the same between launches and can be stored on disk.
+ *
+ * @author devonline
+ * @link http://devonline.academy/java
+ */
+final class ZobristKeys {
+
+    private static final int MAX_CELL_COUNT = Long.SIZE * Long.SIZE;
+
+    /**
+     * {@code KEYS[sign.ordinal() * MAX_CELL_COUNT + cell]}
+     */
+    private static final long[] KEYS = new long[2 * MAX_CELL_COUNT];
+
+    /**
+     * {@code SIZE_KEYS[size]} is an initial hash of the empty game table with the specified size
+     */
+    private static final long[] SIZE_KEYS = new long[Long.SIZE + 1];
+
+    static {
+        long seed = 0x676F6D6F6B75L;
+        for (int i = 0; i < KEYS.length; i++) {
+            seed += 0x9E3779B97F4A7C15L;
+            KEYS[i] = mix(seed);
+        }
+        for (int i = 0; i < SIZE_KEYS.length; i++) {
+            seed += 0x9E3779B97F4A7C15L;
+            SIZE_KEYS[i] = mix(seed);
+        }
+    }
+
+    private ZobristKeys() {
+    }
+
+    static long getKey(final Sign sign, final int cell) {
+        return KEYS[sign.ordinal() * MAX_CELL_COUNT + cell];
+    }
+
+    static long getSizeKey(final int size) {
+        return SIZE_KEYS[size];
+    }
+
+    private static long mix(final long value) {
+        long z = value;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
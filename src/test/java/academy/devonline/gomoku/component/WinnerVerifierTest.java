@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2019. http://devonline.academy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package academy.devonline.gomoku.component;
+
+import academy.devonline.gomoku.model.config.Size;
+import academy.devonline.gomoku.model.game.GameTable;
+import academy.devonline.gomoku.model.game.Player;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static academy.devonline.gomoku.model.game.Sign.O;
+import static academy.devonline.gomoku.model.game.Sign.X;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Replays the seeded random games through {@link FullScanWinnerVerifier} and {@link WinnerVerifier} and
+ * compares the results after each move and each retracted move.
+ *
+ * @author devonline
+ * @link http://devonline.academy/java
+ */
+public class WinnerVerifierTest {
+
+    private static final long SEED = 20190101L;
+
+    private static final int GAME_COUNT = 2000;
+
+    /**
+     * The full scan of the larger game tables is too slow for thousands of games
+     */
+    private static final int MAX_SIZE = 19;
+
+    /**
+     * The share of the moves, which are retracted, so the last move is not always the winning move
+     */
+    private static final double UNMAKE_MOVE_PROBABILITY = 0.1;
+
+    private final WinnerVerifier winnerVerifier = new WinnerVerifier();
+
+    private final WinnerVerifier fullScanWinnerVerifier = new FullScanWinnerVerifier();
+
+    private final Player playerX = new Player(X, (gameTable, sign) -> {
+    });
+
+    private final Player playerO = new Player(O, (gameTable, sign) -> {
+    });
+
+    @Test
+    public void shouldFindTheSameWinnerAsFullScanInRandomGames() {
+        final Random random = new Random(SEED);
+        final Size[] sizes = Arrays.stream(Size.values())
+                .filter(size -> size.intValue() <= MAX_SIZE)
+                .toArray(Size[]::new);
+        int winCount = 0;
+        for (int game = 0; game < GAME_COUNT; game++) {
+            final GameTable gameTable = new GameTable(sizes[random.nextInt(sizes.length)].intValue());
+            boolean finished = false;
+            for (int move = 0; !finished && gameTable.getEmptyCellCount() > 0; move++) {
+                if (gameTable.getMoveCount() > 0 && random.nextDouble() < UNMAKE_MOVE_PROBABILITY) {
+                    gameTable.unmakeMove();
+                } else {
+                    final int cell = gameTable.getEmptyCell(random.nextInt(gameTable.getEmptyCellCount()));
+                    gameTable.makeMove(cell, gameTable.getMoveCount() % 2 == 0 ? X : O);
+                }
+                final String position = String.format("game %s, move %s", game, move);
+                for (final Player player : new Player[]{playerX, playerO}) {
+                    final boolean expected = fullScanWinnerVerifier.isWinner(gameTable, player);
+                    assertEquals(position, expected, winnerVerifier.isWinner(gameTable, player));
+                    if (expected) {
+                        finished = true;
+                        winCount++;
+                    }
+                }
+            }
+        }
+        assertTrue("Random games must contain wins: " + winCount, winCount > GAME_COUNT / 2);
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2019. http://devonline.academy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package academy.devonline.gomoku.component.infinite;
+
+import academy.devonline.gomoku.model.config.PlayerType;
+import academy.devonline.gomoku.model.game.Sign;
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+
+import static academy.devonline.gomoku.model.config.PlayerType.COMPUTER;
+import static academy.devonline.gomoku.model.config.PlayerType.USER;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author devonline
+ * @link http://devonline.academy/java
+ */
+public class InfiniteGameTest {
+
+    private final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+    @Test
+    public void shouldEndComputerGameByWin() {
+        final Sign winner = play(COMPUTER, COMPUTER, "");
+
+        assertNotEquals(Sign.EMPTY, winner);
+        assertTrue(getOutput().endsWith(winner + " WIN!" + System.lineSeparator()));
+    }
+
+    /**
+     * The first user plays {@code X} along the row far from the origin and takes back one move,
+     * the second user plays {@code O} along other row
+     */
+    @Test
+    public void shouldFindWinOfUserFarFromOrigin() {
+        final String input = String.join("\n",
+                "1000000 -1000000", "-5 -5",
+                "1000000 -999999", "-5 -4",
+                "undo",
+                "1000000 -999999", "-5 -4",
+                "1000000 -999998", "-5 -3",
+                "1000000 -999997", "-5 -2",
+                "1000000 -999996");
+
+        assertEquals(Sign.X, play(USER, USER, input));
+    }
+
+    @Test
+    public void shouldStopGameWhenUserQuits() {
+        assertEquals(Sign.EMPTY, play(USER, COMPUTER, "0 0\nquit"));
+        assertTrue(getOutput().endsWith("Game is stopped" + System.lineSeparator()));
+    }
+
+    private Sign play(final PlayerType player1Type, final PlayerType player2Type, final String input) {
+        return new InfiniteGame(
+                player1Type, player2Type, 0,
+                new BufferedReader(new StringReader(input)),
+                new PrintStream(output, true)
+        ).play();
+    }
+
+    private String getOutput() {
+        return new String(output.toByteArray(), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2019. http://devonline.academy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package academy.devonline.gomoku.component.strategy;
+
+import academy.devonline.gomoku.component.ComputerMoveStrategy;
+import academy.devonline.gomoku.model.config.Level;
+import academy.devonline.gomoku.model.game.Cell;
+import academy.devonline.gomoku.model.game.GameTable;
+import academy.devonline.gomoku.model.game.Sign;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static academy.devonline.gomoku.Constants.WIN_COMBINATION_SIZE;
+import static academy.devonline.gomoku.model.game.Sign.O;
+import static academy.devonline.gomoku.model.game.Sign.X;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Verifies that the window scan chooses the moves from the same cells as the baseline scan, which builds
+ * the cells of each window by the row, the column and the offset, and that a LEVEL2 move does not allocate.
+ *
+ * @author devonline
+ * @link http://devonline.academy/java
+ */
+public class AbstractComputerMoveStrategyTest {
+
+    private static final long SEED = 20190104L;
+
+    private static final int SIZE = 15;
+
+    private static final int POSITION_COUNT = 300;
+
+    /**
+     * The count of choices per expected cell: the chance to miss any expected cell is negligible
+     */
+    private static final int CHOICES_PER_CELL = 30;
+
+    private static final int WARM_UP_MOVE_COUNT = 200_000;
+
+    private static final int MEASURED_MOVE_COUNT = 10_000;
+
+    /**
+     * The tolerance of the allocated bytes measurement for all measured moves
+     */
+    private static final long MAX_ALLOCATED_BYTES = 1024;
+
+    private static final int[][] DIRECTIONS = {{0, 1}, {1, 0}, {1, 1}, {1, -1}};
+
+    @Test
+    public void shouldChooseMovesFromTheSameCellsAsBaselineScan() {
+        final Random random = new Random(SEED);
+        for (int position = 0; position < POSITION_COUNT; position++) {
+            final GameTable gameTable = createRandomPosition(random, 10 + random.nextInt(40));
+            for (int expectedCountEmptyCells = 1; expectedCountEmptyCells <= 4; expectedCountEmptyCells++) {
+                for (final AbstractComputerMoveStrategy strategy : new AbstractComputerMoveStrategy[]{
+                        new TryWinComputerMoveStrategy(expectedCountEmptyCells),
+                        new TryPreventUserWinComputerMoveStrategy(expectedCountEmptyCells)
+                }) {
+                    final Set<Integer> expected =
+                            findBaselineCells(gameTable, strategy.getFindSign(O), expectedCountEmptyCells);
+                    final Set<Integer> actual = new TreeSet<>();
+                    final int attemptCount = Math.max(1, expected.size() * CHOICES_PER_CELL);
+                    for (int attempt = 0; attempt < attemptCount; attempt++) {
+                        final int moveCount = gameTable.getMoveCount();
+                        if (strategy.tryToMakeMove(gameTable, O)) {
+                            assertEquals(moveCount + 1, gameTable.getMoveCount());
+                            actual.add(gameTable.unmakeMove());
+                        }
+                    }
+                    assertEquals(String.format("position %s, %s(%s)", position,
+                            strategy.getClass().getSimpleName(), expectedCountEmptyCells), expected, actual);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void shouldNotAllocateDuringLevel2Move() {
+        final com.sun.management.ThreadMXBean threadMXBean =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        final long threadId = Thread.currentThread().getId();
+        final ComputerMoveStrategy[] strategies = Level.LEVEL2.getStrategies();
+        final GameTable gameTable = createRandomPosition(new Random(SEED), 30);
+        makeAndUnmakeMoves(gameTable, strategies, WARM_UP_MOVE_COUNT);
+
+        final long before = threadMXBean.getThreadAllocatedBytes(threadId);
+        makeAndUnmakeMoves(gameTable, strategies, MEASURED_MOVE_COUNT);
+        final long allocatedBytes = threadMXBean.getThreadAllocatedBytes(threadId) - before;
+
+        assertTrue(String.format("Allocated %s bytes for %s moves", allocatedBytes, MEASURED_MOVE_COUNT),
+                allocatedBytes <= MAX_ALLOCATED_BYTES);
+    }
+
+    private static void makeAndUnmakeMoves(final GameTable gameTable,
+                                           final ComputerMoveStrategy[] strategies,
+                                           final int moveCount) {
+        for (int i = 0; i < moveCount; i++) {
+            for (final ComputerMoveStrategy strategy : strategies) {
+                if (strategy.tryToMakeMove(gameTable, O)) {
+                    break;
+                }
+            }
+            gameTable.unmakeMove();
+        }
+    }
+
+    /**
+     * @return the position with the specified count of random moves near the center, which can contain
+     * the win combinations
+     */
+    private static GameTable createRandomPosition(final Random random, final int moveCount) {
+        final GameTable gameTable = new GameTable(SIZE);
+        final int min = SIZE / 4;
+        final int range = SIZE / 2 + 1;
+        while (gameTable.getMoveCount() < moveCount) {
+            final int cell = gameTable.getCellIndex(min + random.nextInt(range), min + random.nextInt(range));
+            if (gameTable.isEmpty(cell)) {
+                gameTable.makeMove(cell, gameTable.getMoveCount() % 2 == 0 ? X : O);
+            }
+        }
+        return gameTable;
+    }
+
+    /**
+     * The scan of the strategy before the window index: the cells of each window are built from the start cell
+     * and the direction, the windows crossing the border of the game table are skipped
+     */
+    private static Set<Integer> findBaselineCells(final GameTable gameTable,
+                                                  final Sign findSign,
+                                                  final int expectedCountEmptyCells) {
+        final Set<Integer> result = new TreeSet<>();
+        for (final int[] direction : DIRECTIONS) {
+            for (int row = 0; row < gameTable.getSize(); row++) {
+                for (int col = 0; col < gameTable.getSize(); col++) {
+                    final int[] emptyCells = new int[WIN_COMBINATION_SIZE];
+                    int countEmptyCells = 0;
+                    int countSignCells = 0;
+                    for (int k = 0; k < WIN_COMBINATION_SIZE; k++) {
+                        final Cell cell = new Cell(row + k * direction[0], col + k * direction[1]);
+                        if (!gameTable.isValid(cell)) {
+                            break;
+                        }
+                        final Sign sign = gameTable.getSign(cell);
+                        if (sign == Sign.EMPTY) {
+                            emptyCells[countEmptyCells++] = gameTable.getCellIndex(cell.getRow(), cell.getCol());
+                        } else if (sign == findSign) {
+                            countSignCells++;
+                        } else {
+                            break;
+                        }
+                    }
+                    if (countEmptyCells == expectedCountEmptyCells &&
+                            countSignCells == WIN_COMBINATION_SIZE - expectedCountEmptyCells) {
+                        for (int i = 0; i < countEmptyCells; i++) {
+                            result.add(emptyCells[i]);
+                        }
+                    }
+                }
+            }
+        }
+        return result;
+    }
+}
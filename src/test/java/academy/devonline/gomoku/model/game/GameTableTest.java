@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2019. http://devonline.academy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package academy.devonline.gomoku.model.game;
+
+import org.junit.Test;
+
+import static academy.devonline.gomoku.model.game.Sign.EMPTY;
+import static academy.devonline.gomoku.model.game.Sign.O;
+import static academy.devonline.gomoku.model.game.Sign.X;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author devonline
+ * @link http://devonline.academy/java
+ */
+public class GameTableTest {
+
+    @Test
+    public void shouldRetractOverwrittenSignFirst() {
+        final GameTable gameTable = new GameTable(15);
+        gameTable.makeMove(10, X);
+        gameTable.makeMove(20, O);
+        gameTable.setSign(10, O);
+
+        assertEquals(10, gameTable.getLastMove());
+        assertEquals(2, gameTable.getMoveCount());
+        assertEquals(10, gameTable.unmakeMove());
+        assertEquals(EMPTY, gameTable.getSign(10));
+        assertEquals(20, gameTable.getLastMove());
+        assertEquals(20, gameTable.unmakeMove());
+        assertEquals(0, gameTable.getMoveCount());
+    }
+}